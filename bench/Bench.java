@@ -0,0 +1,99 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal benchmark harness: timed warmup and measurement iterations per case, reporting ns/op
+ * and allocated bytes/op (from the JVM's per-thread allocation counter, like JMH's -prof gc).
+ *
+ * Results are printed as a table and can be saved and compared:
+ *   -Dbench.save=bench/baseline.tsv     write this run as the new baseline
+ *   -Dbench.baseline=bench/baseline.tsv print the change against a saved run
+ *   -Dbench.filter=move                 only run cases whose name contains the text
+ *   -Dbench.iterations=5 -Dbench.millis=500
+ */
+public final class Bench {
+
+    /** One benchmark body; the return value is consumed so the JIT cannot drop the work */
+    @FunctionalInterface
+    public interface Case { Object run() throws Exception; }
+
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 5);
+    private static final long MILLIS = Long.getLong("bench.millis", 500L);
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Map<String, Case> cases = new LinkedHashMap<>();
+    private final List<String[]> results = new ArrayList<>();
+    private int sink;
+
+    public Bench add(String name, Case c) { cases.put(name, c); return this; }
+
+    public void runAll() throws Exception {
+        String filter = System.getProperty("bench.filter", "");
+        Map<String, Double> baseline = loadBaseline(System.getProperty("bench.baseline"));
+        System.out.printf("%-28s %14s %12s %10s%n", "benchmark", "ns/op", "B/op", "vs base");
+        for (Map.Entry<String, Case> e : cases.entrySet()) {
+            if (!e.getKey().contains(filter)) continue;
+            double[] r = measure(e.getValue());
+            Double base = baseline.get(e.getKey());
+            String delta = base == null ? "" : String.format("%+.1f%%", (r[0] - base) * 100 / base);
+            System.out.printf("%-28s %14.1f %12.1f %10s%n", e.getKey(), r[0], r[1], delta);
+            results.add(new String[]{e.getKey(), Double.toString(r[0]), Double.toString(r[1])});
+        }
+        save(System.getProperty("bench.save"));
+        if (sink == 42) System.out.println();
+    }
+
+    /** {ns/op, bytes/op} from the best measurement iteration */
+    private double[] measure(Case c) throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) iteration(c);      // warmup
+        double bestNs = Double.MAX_VALUE, bytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            double[] r = iteration(c);
+            if (r[0] < bestNs) { bestNs = r[0]; bytes = r[1]; }
+        }
+        return new double[]{bestNs, bytes};
+    }
+
+    private double[] iteration(Case c) throws Exception {
+        long tid = Thread.currentThread().getId();
+        long deadline = System.nanoTime() + MILLIS * 1_000_000L;
+        long ops = 0;
+        long alloc0 = THREADS.getThreadAllocatedBytes(tid);
+        long t0 = System.nanoTime(), now;
+        do {
+            for (int i = 0; i < 64; i++) sink += System.identityHashCode(c.run());
+            ops += 64;
+        } while ((now = System.nanoTime()) < deadline);
+        long alloc = THREADS.getThreadAllocatedBytes(tid) - alloc0;
+        return new double[]{(double) (now - t0) / ops, (double) alloc / ops};
+    }
+
+    private static Map<String, Double> loadBaseline(String file) throws IOException {
+        Map<String, Double> out = new HashMap<>();
+        if (file == null || !Files.exists(Paths.get(file))) return out;
+        for (String line : Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8)) {
+            String[] f = line.split("\t");
+            if (f.length >= 2) out.put(f[0], Double.parseDouble(f[1]));
+        }
+        return out;
+    }
+
+    private void save(String file) throws IOException {
+        if (file == null) return;
+        StringBuilder sb = new StringBuilder();
+        for (String[] r : results) sb.append(String.join("\t", r)).append('\n');
+        Path p = Paths.get(file);
+        if (p.getParent() != null) Files.createDirectories(p.getParent());
+        Files.write(p, sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
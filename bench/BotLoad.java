@@ -0,0 +1,217 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Synthetic load: N bot players each drive their own Game session directly, no GUI or parser.
+ * A bot waits a random think time, then picks an action by the configured mix: walk a random exit
+ * from Room.getExits(), take an item lying in the room, use/equip something it carries, attack in a
+ * GoblinRoom or DragonRoom with a live enemy, answer the riddle in an unsolved PuzzleRoom, or look.
+ * Actions that do not apply where the bot stands fall back to walking. A bot that dies starts a new session.
+ *
+ * Bots run one per virtual thread on Java 21+ (one per platform thread before that), so thousands of
+ * mostly-sleeping sessions are cheap. Every second it prints throughput, command latency percentiles
+ * and heap in use; the summary divides the bot count by the cores actually kept busy, which with
+ * a realistic think time is the sessions-per-core ceiling.
+ *
+ * Build as for GameBenchmarks, then:
+ *   java -Dgandor.log.level=OFF -cp out/production:out/bench BotLoad
+ *   -Dbots.count=1000      concurrent bot sessions
+ *   -Dbots.thinkMs=200     mean think time between commands (exponential; 0 = flat out)
+ *   -Dbots.seconds=30      how long to run
+ *   -Dbots.mix=move=50,take=15,equip=10,attack=15,solve=5,look=5   relative action weights
+ *   -Dbots.seed=1          base seed; bot i uses seed + i
+ */
+public final class BotLoad {
+    private static final int BOTS = Integer.getInteger("bots.count", 1000);
+    private static final long THINK_MS = Long.getLong("bots.thinkMs", 200L);
+    private static final long SECONDS = Long.getLong("bots.seconds", 30L);
+    private static final long SEED = Long.getLong("bots.seed", 1L);
+
+    enum Action { MOVE, TAKE, EQUIP, ATTACK, SOLVE, LOOK }
+
+    private static final LatencyHistogram LATENCY = Metrics.latency("bots.command");
+    private static final LatencyHistogram INTERVAL = new LatencyHistogram("bots.interval");   // reset every report
+    // What the bots know of the world: riddle answers by PuzzleRoom id, as WorldBuilder sets them
+    private static final Map<Integer, String> ANSWERS = Map.of(7, "rusty dagger", 13, "needle", 29, "nord", 35, "piece", 44, "courage");
+
+    private final int[] cumulativeWeights = new int[Action.values().length];
+    private final LongAdder commands = new LongAdder(), sessions = new LongAdder(), deaths = new LongAdder();
+    private final LongAdder[] performed = new LongAdder[Action.values().length];
+    private volatile boolean running = true;
+    private volatile int sink;
+
+    BotLoad(String mix) {
+        int[] weights = new int[Action.values().length];
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) throw new IllegalArgumentException("Bad bots.mix entry: " + part);
+            weights[Action.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)).ordinal()] = Integer.parseInt(kv[1].trim());
+        }
+        int sum = 0;
+        for (int i = 0; i < weights.length; i++) { sum += weights[i]; cumulativeWeights[i] = sum; }
+        if (sum <= 0) throw new IllegalArgumentException("bots.mix has no positive weights: " + mix);
+        for (int i = 0; i < performed.length; i++) performed[i] = new LongAdder();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new BotLoad(System.getProperty("bots.mix", "move=50,take=15,equip=10,attack=15,solve=5,look=5")).run();
+    }
+
+    void run() throws InterruptedException {
+        WorldBuilder.template();        // build the shared world before the clock starts
+        ExecutorService pool = botExecutor();
+        System.out.printf(Locale.ROOT, "%d bots, think %d ms, %d s, %s threads, %d cores%n", BOTS, THINK_MS, SECONDS,
+                pool.getClass().getName().contains("ThreadPerTask") ? "virtual" : "platform",
+                Runtime.getRuntime().availableProcessors());
+
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long cpu0 = os.getProcessCpuTime(), gc0 = gcMillis(), t0 = System.nanoTime();
+
+        for (int i = 0; i < BOTS; i++) {
+            long seed = SEED + i;
+            pool.execute(() -> bot(new SplittableRandom(seed)));
+        }
+
+        long last = 0;
+        for (int s = 1; s <= SECONDS; s++) {
+            Thread.sleep(Math.max(0, t0 + s * 1_000_000_000L - System.nanoTime()) / 1_000_000);
+            long n = commands.sum();
+            System.out.printf(Locale.ROOT, "%4ds  %,9d cmd/s  p50 %7.1fus  p99 %8.1fus  max %9.1fus  heap %,5d MB  sessions %,d%n",
+                    s, n - last, INTERVAL.percentileNanos(50) / 1e3, INTERVAL.percentileNanos(99) / 1e3,
+                    INTERVAL.maxNanos() / 1e3, memory.getHeapMemoryUsage().getUsed() >> 20, sessions.sum());
+            INTERVAL.reset();
+            last = n;
+        }
+        running = false;
+        pool.shutdown();
+        pool.awaitTermination(THINK_MS * 20 + 5000, TimeUnit.MILLISECONDS);
+
+        double secs = (System.nanoTime() - t0) / 1e9;
+        double busyCores = (os.getProcessCpuTime() - cpu0) / 1e9 / secs;
+        long total = commands.sum();
+        System.out.printf(Locale.ROOT, "%n%,d commands in %.1f s: %,.0f cmd/s, %,.0f cmd/s per busy core%n",
+                total, secs, total / secs, total / secs / Math.max(busyCores, 1e-9));
+        System.out.println("  " + LATENCY.summary());
+        System.out.printf(Locale.ROOT, "  %.2f cores busy, GC %d ms, heap %,d MB in use%n",
+                busyCores, gcMillis() - gc0, memory.getHeapMemoryUsage().getUsed() >> 20);
+        System.out.printf(Locale.ROOT, "  %,d sessions (%,d bots died and restarted)%n", sessions.sum(), deaths.sum());
+        StringBuilder mix = new StringBuilder("  performed:");
+        for (Action a : Action.values()) mix.append(' ').append(a.name().toLowerCase(Locale.ROOT)).append('=').append(performed[a.ordinal()].sum());
+        System.out.println(mix);
+        if (THINK_MS > 0 && busyCores > 0) {
+            System.out.printf(Locale.ROOT, "  ~%,.0f sessions per core at %d ms think time%n", BOTS / busyCores, THINK_MS);
+        }
+    }
+
+    private void bot(SplittableRandom rnd) {
+        Game game = newSession();
+        try {
+            if (THINK_MS > 0) Thread.sleep(rnd.nextLong(THINK_MS + 1));    // spread the first commands out
+            while (running) {
+                if (!game.getPlayer().isAlive()) { deaths.increment(); game = newSession(); }
+                Action a = pick(rnd);
+                long t0 = System.nanoTime();
+                String out = act(game, a, rnd);
+                long dt = System.nanoTime() - t0;
+                LATENCY.record(dt);
+                INTERVAL.record(dt);
+                commands.increment();
+                sink += out.length();
+                if (THINK_MS > 0) Thread.sleep((long) (-THINK_MS * Math.log(1 - rnd.nextDouble())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Game newSession() {
+        sessions.increment();
+        return new Game();
+    }
+
+    private Action pick(SplittableRandom rnd) {
+        int r = rnd.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (r >= cumulativeWeights[i]) i++;
+        return Action.values()[i];
+    }
+
+    /** Perform the action if it applies in the bot's room, else walk */
+    private String act(Game game, Action a, SplittableRandom rnd) {
+        Player p = game.getPlayer();
+        Room room = p.getCurrentRoom();
+        World world = game.getWorld();
+        switch (a) {
+            case TAKE: {
+                Item it = nth(world.itemsIn(room), rnd);
+                if (it != null) return done(a, game.execute(Verb.TAKE, it.getName()));
+                break;
+            }
+            case EQUIP: {
+                Item it = nth(p.getInventory(), rnd);
+                if (it != null) return done(a, game.execute(Verb.USE, it.getName()));
+                break;
+            }
+            case ATTACK: {
+                Enemy e = world.enemyIn(room);
+                if (e != null && e.isAlive()) return done(a, game.execute(Verb.ATTACK, ""));
+                break;
+            }
+            case SOLVE:
+                if (room instanceof PuzzleRoom && !world.isSolved(room)) {
+                    return done(a, game.execute(Verb.SOLVE, ANSWERS.getOrDefault(room.getId(), "")));
+                }
+                break;
+            case LOOK:
+                return done(a, game.execute(Verb.LOOK, ""));
+            default:
+                break;
+        }
+        Map<Direction, Room> exits = room.getExits();
+        if (exits.isEmpty()) return done(Action.LOOK, game.execute(Verb.LOOK, ""));
+        Direction d = nth(exits.keySet(), rnd);
+        return done(Action.MOVE, game.execute(Verb.MOVE, d.label()));
+    }
+
+    private String done(Action a, String out) {
+        performed[a.ordinal()].increment();
+        return out;
+    }
+
+    private static <T> T nth(Iterable<T> items, SplittableRandom rnd) {
+        List<T> all = new ArrayList<>();
+        for (T t : items) all.add(t);
+        return all.isEmpty() ? null : all.get(rnd.nextInt(all.size()));
+    }
+
+    /** A virtual thread per bot where the JDK has them (21+), found reflectively so this still builds on 17 */
+    private static ExecutorService botExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "bot");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    private static long gcMillis() {
+        long ms = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) ms += Math.max(0, gc.getCollectionTime());
+        return ms;
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Benchmarks for world construction, movement, look, item handling, command parsing and save/restore.
+ *
+ * Build and run from the project root (no GUI needed):
+ *   javac -encoding UTF-8 -d out/production src/*.java
+ *   javac -encoding UTF-8 -cp out/production -d out/bench bench/*.java
+ *   java -Dgandor.log.level=OFF -cp out/production:out/bench GameBenchmarks
+ */
+public class GameBenchmarks {
+
+    /** A loop through the early forest that ends where it started (rooms 1-2-5-6-7-8-9 and back) */
+    static final String[] ROUTE = {
+            "north", "west", "west", "west", "north", "north",
+            "south", "south", "east", "east", "east", "south"
+    };
+
+    static final String[] INPUTS = {
+            "north", "go west", "look", "l", "take rusty dagger", "pick up Apple", "use climbing shoes",
+            "equip steel sword", "unequip shoes", "attack goblin", "solve needle", "give ruby",
+            "inventory", "i", "gear", "speak", "dance wildly", "  MOVE   south  "
+    };
+
+    static final int HOARD = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        Game moving = new Game();
+        int[] step = {0};
+
+        Game looking = new Game();
+
+        // A player carrying a huge inventory, wearing-and-rewearing a Steel Helmet
+        Game hoarder = hoard(new Game());
+        hoarder.getPlayer().setCurrentRoom(hoarder.getWorld().getRoom(40));
+        hoarder.pickUpItem("Steel Helmet");
+
+        // Same hoard, standing in room 28 picking up a Ruby and putting it back
+        Game picker = hoard(new Game());
+        Room camp = picker.getWorld().getRoom(28);
+        picker.getPlayer().setCurrentRoom(camp);
+
+        int[] input = {0};
+
+        // A mid-game session: moved, took and equipped things, fought
+        Game played = new Game();
+        for (String c : new String[]{"north", "north", "north", "take rusty dagger", "use rusty dagger", "south", "south", "east", "attack"}) {
+            played.execute(CommandParser.parse(c));
+        }
+        byte[] saved = SaveGame.capture(played);
+
+        new Bench()
+                .add("worldBuilder.template", WorldBuilder::buildTemplate)
+                .add("worldBuilder.createWorld", WorldBuilder::createWorld)
+                .add("castle.createCastle", () -> {
+                    WorldTemplate t = new WorldTemplate();
+                    t.reg(29, new GenericRoom("Castle gate stand-in."));
+                    return BlackCastleBuilder.createCastle(t);
+                })
+                .add("game.new", Game::new)
+                .add("game.movePlayer.route", () -> moving.movePlayer(ROUTE[step[0]++ % ROUTE.length]))
+                .add("game.look", looking::look)
+                .add("game.pickUpItem.hoard", () -> {
+                    String out = picker.pickUpItem("ruby");
+                    Item ruby = picker.getPlayer().getInventory().find("ruby");
+                    picker.getPlayer().getInventory().remove(ruby);
+                    picker.getWorld().addItem(camp, ruby);
+                    return out;
+                })
+                .add("game.useItem.hoard", () -> hoarder.useItem("steel helmet"))
+                .add("parser.parse", () -> CommandParser.parse(INPUTS[input[0]++ % INPUTS.length]))
+                .add("save.capture", () -> SaveGame.capture(played))
+                .add("save.restore", () -> SaveGame.restore(saved))
+                .runAll();
+    }
+
+    private static Game hoard(Game g) {
+        for (int i = 0; i < HOARD; i++) g.getPlayer().getInventory().add(new Item("Pebble " + i, "Filler."));
+        return g;
+    }
+}
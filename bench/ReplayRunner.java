@@ -0,0 +1,163 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Replays recorded command scripts against Game without the GUI, in many sessions at once.
+ * Each script is first run once to get its transcript checksum (CRC32 of every command's output);
+ * then every thread replays the scripts in fresh sessions for the configured time and any session
+ * whose transcript differs is reported, which catches both changed output and shared-state races.
+ *
+ * Scripts: one command per line as a player would type it; blank lines and # comments are skipped;
+ * "@room N" moves the player to room N without a command (for rooms the map cannot reach yet).
+ * A script's expected checksum can be kept next to it in <script>.crc; a mismatch fails the run.
+ *
+ * Build as for GameBenchmarks, then:
+ *   java -Dgandor.log.level=OFF -cp out/production:out/bench ReplayRunner [script ...]
+ *   -Dreplay.threads=8     sessions replaying at once (default: available processors)
+ *   -Dreplay.seconds=5     how long to replay after warmup
+ *   -Dreplay.save=true     write the current checksums as the expected .crc files
+ * With no script arguments every *.txt in bench/scripts is run.
+ */
+public final class ReplayRunner {
+    private static final int THREADS = Integer.getInteger("replay.threads", Runtime.getRuntime().availableProcessors());
+    private static final long SECONDS = Long.getLong("replay.seconds", 5L);
+    private static final boolean SAVE = Boolean.getBoolean("replay.save");
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** A parsed script: its commands, and for each the room to jump to before running it (0 = none) */
+    static final class Script {
+        final String name;
+        final List<Command> commands = new ArrayList<>();
+        final List<Integer> jumps = new ArrayList<>();
+        Script(String name) { this.name = name; }
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Path> files = new ArrayList<>();
+        for (String a : args) files.add(Paths.get(a));
+        if (files.isEmpty()) {
+            try (DirectoryStream<Path> dir = Files.newDirectoryStream(Paths.get("bench/scripts"), "*.txt")) {
+                for (Path p : dir) files.add(p);
+            }
+            files.sort(null);
+        }
+        List<Script> scripts = new ArrayList<>();
+        for (Path p : files) scripts.add(parse(p));
+
+        boolean ok = true;
+        long[] expected = new long[scripts.size()];
+        int commandsPerRound = 0;
+        for (int i = 0; i < scripts.size(); i++) {
+            Script s = scripts.get(i);
+            expected[i] = replay(s);
+            commandsPerRound += s.commands.size();
+            Path crcFile = Paths.get(files.get(i) + ".crc");
+            String hex = String.format("%08x", expected[i]);
+            if (SAVE) {
+                Files.write(crcFile, (hex + "\n").getBytes(StandardCharsets.UTF_8));
+            } else if (Files.exists(crcFile)) {
+                String want = new String(Files.readAllBytes(crcFile), StandardCharsets.UTF_8).trim();
+                if (!want.equalsIgnoreCase(hex)) {
+                    System.out.println("CHANGED  " + s.name + ": transcript checksum " + hex + ", expected " + want);
+                    ok = false;
+                }
+            }
+            System.out.printf("%-24s %4d commands  crc %s%n", s.name, s.commands.size(), hex);
+        }
+
+        // Warm up on one thread, then measure on all of them
+        long warmupEnd = System.nanoTime() + 1_000_000_000L;
+        while (System.nanoTime() < warmupEnd) for (Script s : scripts) replay(s);
+
+        AtomicLong commands = new AtomicLong(), allocated = new AtomicLong(), mismatches = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1), done = new CountDownLatch(THREADS);
+        long[] deadline = new long[1];
+        for (int t = 0; t < THREADS; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    long tid = Thread.currentThread().getId();
+                    long alloc0 = THREAD_BEAN.getThreadAllocatedBytes(tid);
+                    long n = 0;
+                    while (System.nanoTime() < deadline[0]) {
+                        for (int i = 0; i < scripts.size(); i++) {
+                            if (replay(scripts.get(i)) != expected[i]) mismatches.incrementAndGet();
+                            n += scripts.get(i).commands.size();
+                        }
+                    }
+                    commands.addAndGet(n);
+                    allocated.addAndGet(THREAD_BEAN.getThreadAllocatedBytes(tid) - alloc0);
+                } catch (InterruptedException ignored) {
+                } finally {
+                    done.countDown();
+                }
+            }, "replay-" + t);
+            worker.start();
+        }
+        long t0 = System.nanoTime();
+        deadline[0] = t0 + SECONDS * 1_000_000_000L;
+        start.countDown();
+        done.await();
+        double secs = (System.nanoTime() - t0) / 1e9;
+
+        System.out.printf(Locale.ROOT, "%n%d threads, %.1f s: %,d commands (%,d script rounds)%n",
+                THREADS, secs, commands.get(), commands.get() / Math.max(1, commandsPerRound));
+        System.out.printf(Locale.ROOT, "  %,.0f commands/s, %,.0f commands/s per thread%n",
+                commands.get() / secs, commands.get() / secs / THREADS);
+        System.out.printf(Locale.ROOT, "  %,.0f bytes allocated per command (session setup included)%n",
+                (double) allocated.get() / Math.max(1, commands.get()));
+        if (mismatches.get() > 0) {
+            System.out.println("  " + mismatches.get() + " concurrent sessions produced a different transcript");
+            ok = false;
+        }
+        if (!ok) System.exit(1);
+    }
+
+    /** Run the script in a fresh session and return the CRC32 of its transcript */
+    static long replay(Script s) {
+        Game game = new Game();
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < s.commands.size(); i++) {
+            int jump = s.jumps.get(i);
+            if (jump != 0) game.getPlayer().setCurrentRoom(game.getWorld().getRoom(jump));
+            byte[] out = game.execute(s.commands.get(i)).getBytes(StandardCharsets.UTF_8);
+            crc.update(out, 0, out.length);
+            crc.update('\n');
+        }
+        return crc.getValue();
+    }
+
+    static Script parse(Path file) throws IOException {
+        Script s = new Script(file.getFileName().toString());
+        int jump = 0;
+        int lineNo = 0;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            lineNo++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            if (line.startsWith("@room ")) {
+                jump = Integer.parseInt(line.substring(6).trim());
+                if (WorldBuilder.template().getRoom(jump) == null) {
+                    throw new IOException(file + ":" + lineNo + ": no room " + jump);
+                }
+                continue;
+            }
+            s.commands.add(CommandParser.parse(line));
+            s.jumps.add(jump);
+            jump = 0;
+        }
+        return s;
+    }
+}
@@ -0,0 +1,64 @@
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.swing.Timer;
+
+/**
+ * The GUI's one animation clock. Fades, theme transitions and the typewriter register tweens here
+ * under a key; starting a tween under a key that is already animating replaces the old one.
+ * Every frame steps all tweens with the same System.nanoTime() reading, then repaints each component
+ * they marked dirty once. The timer only runs while there is something to animate. EDT only.
+ */
+final class Animator {
+    private static final int FRAME_MS = 16;
+    private static final LatencyHistogram FRAME_TIME = Metrics.latency("gui.animation.frame");
+
+    /** One animation; return false from step once finished */
+    interface Tween {
+        boolean step(long nowNanos);
+    }
+
+    private final Map<Object, Tween> tweens = new LinkedHashMap<>();
+    private final ArrayList<Object> keys = new ArrayList<>();          // per-frame snapshots, reused
+    private final ArrayList<Tween> stepping = new ArrayList<>();
+    private final ArrayList<Component> dirty = new ArrayList<>();
+    private final Timer timer = new Timer(FRAME_MS, e -> frame());
+
+    Animator() { timer.setCoalesce(true); }
+
+    /** Animate under key, superseding whatever was running under it */
+    void start(Object key, Tween tween) {
+        tweens.put(key, tween);
+        if (!timer.isRunning()) timer.start();
+    }
+
+    void cancel(Object key) {
+        tweens.remove(key);
+        if (tweens.isEmpty()) timer.stop();
+    }
+
+    boolean isRunning(Object key) { return tweens.containsKey(key); }
+
+    /** Repaint c at the end of this frame, however many tweens ask */
+    void repaint(Component c) {
+        for (int i = 0; i < dirty.size(); i++) if (dirty.get(i) == c) return;
+        dirty.add(c);
+    }
+
+    private void frame() {
+        long now = System.nanoTime();
+        // Tweens may start or cancel others while stepping, so work from a snapshot
+        for (Map.Entry<Object, Tween> e : tweens.entrySet()) { keys.add(e.getKey()); stepping.add(e.getValue()); }
+        for (int i = 0; i < stepping.size(); i++) {
+            Tween t = stepping.get(i);
+            if (tweens.get(keys.get(i)) == t && !t.step(now)) tweens.remove(keys.get(i), t);
+        }
+        keys.clear();
+        stepping.clear();
+        for (int i = 0; i < dirty.size(); i++) dirty.get(i).repaint();
+        dirty.clear();
+        if (tweens.isEmpty()) timer.stop();
+        FRAME_TIME.recordSince(now);
+    }
+}
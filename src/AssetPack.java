@@ -0,0 +1,121 @@
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read side of the asset pack written by AssetPacker: images stored as raw premultiplied ARGB
+ * at the sizes the GUI draws them, memory-mapped so opening a scene is a bulk int copy with no decoding.
+ *
+ * Layout (big-endian):
+ *   int magic 'GPAK', int version, int count
+ *   count x { short nameLength, byte[] utf8Name, int width, int height, long sourceModified, long offset }
+ *   pixel data, width * height ints per entry
+ * Names are asset paths such as images/castle_gate.png; one asset may be stored at several sizes.
+ */
+public final class AssetPack {
+    static final int MAGIC = 0x4750414B;   // "GPAK"
+    static final int VERSION = 1;
+    private static final Metrics.CacheStats EXACT = Metrics.cache("gui.image.pack");   // image() found the size asked for
+
+    private static final class Entry {
+        final int w, h; final long sourceModified; final long offset;
+        Entry(int w, int h, long sourceModified, long offset) { this.w = w; this.h = h; this.sourceModified = sourceModified; this.offset = offset; }
+    }
+
+    private final MappedByteBuffer data;
+    private final Map<String, Entry> entries = new HashMap<>();     // "path@WxH"
+    private final Map<String, Entry> largest = new HashMap<>();     // path -> biggest stored size
+    private final Map<String, List<Entry>> sizes = new HashMap<>(); // path -> every stored size
+
+    private AssetPack(MappedByteBuffer data) throws IOException {
+        this.data = data;
+        ByteBuffer b = data.duplicate();
+        if (b.getInt() != MAGIC) throw new IOException("Not an asset pack");
+        int version = b.getInt();
+        if (version != VERSION) throw new IOException("Unsupported asset pack version " + version);
+        int count = b.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[b.getShort() & 0xFFFF];
+            b.get(name);
+            String path = new String(name, StandardCharsets.UTF_8);
+            Entry e = new Entry(b.getInt(), b.getInt(), b.getLong(), b.getLong());
+            if (stale(path, e)) continue;   // the source image was edited after packing
+            entries.put(key(path, e.w, e.h), e);
+            sizes.computeIfAbsent(path, p -> new ArrayList<>(2)).add(e);
+            Entry big = largest.get(path);
+            if (big == null || (long) e.w * e.h > (long) big.w * big.h) largest.put(path, e);
+        }
+    }
+
+    /** Open the pack if the file exists and is valid; otherwise null so callers fall back to decoding */
+    public static AssetPack openIfPresent(String file) {
+        Path p = Paths.get(file);
+        if (!Files.isRegularFile(p)) return null;
+        try (FileChannel ch = FileChannel.open(p, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new AssetPack(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        } catch (IOException | RuntimeException e) {
+            Log.warn("Ignoring asset pack " + file + ": " + e);
+            return null;
+        }
+    }
+
+    /** The asset at exactly w x h, or null if the pack does not hold that size */
+    public BufferedImage image(String path, int w, int h) {
+        Entry e = entries.get(key(path, w, h));
+        if (e == null) { EXACT.miss(); return null; }
+        EXACT.hit();
+        return wrap(e);
+    }
+
+    /** The stored size of an asset closest to w x h (by scale ratio on each axis), the best source to scale from; null if not packed */
+    public int[] nearestSize(String path, int w, int h) {
+        List<Entry> stored = sizes.get(path);
+        if (stored == null) return null;
+        if (w <= 0 || h <= 0) { Entry big = largest.get(path); return new int[]{big.w, big.h}; }
+        Entry best = null;
+        double bestCost = Double.MAX_VALUE;
+        for (Entry e : stored) {
+            double cost = Math.abs(Math.log((double) e.w / w)) + Math.abs(Math.log((double) e.h / h));
+            if (cost < bestCost) { bestCost = cost; best = e; }
+        }
+        return new int[]{best.w, best.h};
+    }
+
+    /** The biggest stored size of an asset, used as the source when scaling to an unpacked size */
+    public BufferedImage largest(String path) {
+        Entry e = largest.get(path);
+        return e == null ? null : wrap(e);
+    }
+
+    public boolean contains(String path) { return largest.containsKey(path); }
+
+    private BufferedImage wrap(Entry e) {
+        int[] pixels = new int[e.w * e.h];
+        IntBuffer src = data.duplicate().position((int) e.offset).slice().asIntBuffer();
+        src.get(pixels);
+        BufferedImage img = new BufferedImage(e.w, e.h, BufferedImage.TYPE_INT_ARGB_PRE);
+        img.getRaster().setDataElements(0, 0, e.w, e.h, pixels);
+        return img;
+    }
+
+    private static boolean stale(String path, Entry e) {
+        File f = new File(path);
+        return f.isFile() && f.lastModified() > e.sourceModified;
+    }
+
+    static String key(String path, int w, int h) { return path + "@" + w + "x" + h; }
+}
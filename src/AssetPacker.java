@@ -0,0 +1,131 @@
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import javax.imageio.ImageIO;
+
+/**
+ * Builds the asset pack read by AssetPack: decodes every scene, avatar and intro image once
+ * and stores them as premultiplied ARGB at the sizes the GUI draws them.
+ *
+ * Usage (from the project root): java AssetPacker [output] [WxH ...]
+ *   output defaults to images/assets.pack; scene sizes default to 720x260 (the scene panel).
+ *   Images under images/avatars are packed at 120x120. Other sizes the GUI draws are scaled once from the
+ *   nearest packed size and cached, so pass the sizes your window actually uses to skip even that
+ *   (gui.image.pack in Metrics shows how often the drawn size was packed exactly).
+ * Re-run after changing art; entries older than their source image are ignored at load time.
+ */
+public final class AssetPacker {
+    private static final String IMAGE_DIR = "images";
+    private static final String AVATAR_DIR = "images/avatars";
+
+    private static final class Job {
+        final String path; final BufferedImage src; final int w, h; final long modified;
+        Job(String path, BufferedImage src, int w, int h, long modified) { this.path = path; this.src = src; this.w = w; this.h = h; this.modified = modified; }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String out = args.length > 0 ? args[0] : IMAGE_DIR + "/assets.pack";
+        List<int[]> sceneSizes = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) sceneSizes.add(parseSize(args[i]));
+        if (sceneSizes.isEmpty()) sceneSizes.add(new int[]{720, 260});
+
+        List<Job> jobs = new ArrayList<>();
+        for (File f : images(IMAGE_DIR)) {
+            BufferedImage src = read(f);
+            if (src != null) for (int[] s : sceneSizes) jobs.add(new Job(IMAGE_DIR + "/" + f.getName(), src, s[0], s[1], f.lastModified()));
+        }
+        for (File f : images(AVATAR_DIR)) {
+            BufferedImage src = read(f);
+            if (src != null) jobs.add(new Job(AVATAR_DIR + "/" + f.getName(), src, 120, 120, f.lastModified()));
+        }
+
+        write(Paths.get(out), jobs);
+        System.out.println("Packed " + jobs.size() + " images into " + out);
+    }
+
+    static void write(Path out, List<Job> jobs) throws IOException {
+        // Header size first, so pixel offsets can be written in the index
+        long offset = 12;
+        List<byte[]> names = new ArrayList<>();
+        for (Job j : jobs) {
+            byte[] n = j.path.getBytes(StandardCharsets.UTF_8);
+            names.add(n);
+            offset += 2 + n.length + 4 + 4 + 8 + 8;
+        }
+        if (out.getParent() != null) Files.createDirectories(out.getParent());
+        Path tmp = out.resolveSibling(out.getFileName() + ".tmp");
+        try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            dos.writeInt(AssetPack.MAGIC);
+            dos.writeInt(AssetPack.VERSION);
+            dos.writeInt(jobs.size());
+            for (int i = 0; i < jobs.size(); i++) {
+                Job j = jobs.get(i);
+                dos.writeShort(names.get(i).length);
+                dos.write(names.get(i));
+                dos.writeInt(j.w);
+                dos.writeInt(j.h);
+                dos.writeLong(j.modified);
+                dos.writeLong(offset);
+                offset += (long) j.w * j.h * 4;
+            }
+            for (Job j : jobs) {
+                for (int px : pixels(j)) dos.writeInt(px);
+            }
+        }
+        Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** Decoded image, or null (with a warning) if ImageIO cannot read it; the GUI falls back to decoding those itself */
+    private static BufferedImage read(File f) {
+        try {
+            BufferedImage img = ImageIO.read(f);
+            if (img == null) System.err.println("Skipping unreadable image " + f);
+            return img;
+        } catch (IOException e) {
+            System.err.println("Skipping " + f + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Scale to premultiplied ARGB */
+    private static int[] pixels(Job j) {
+        BufferedImage dst = new BufferedImage(j.w, j.h, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = dst.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(j.src, 0, 0, j.w, j.h, null);
+        g.dispose();
+        return ((DataBufferInt) dst.getRaster().getDataBuffer()).getData();
+    }
+
+    private static List<File> images(String dir) {
+        List<File> out = new ArrayList<>();
+        File[] files = new File(dir).listFiles();
+        if (files == null) return out;
+        Arrays.sort(files);
+        for (File f : files) {
+            String n = f.getName().toLowerCase(Locale.ROOT);
+            if (f.isFile() && (n.endsWith(".png") || n.endsWith(".jpg") || n.endsWith(".jpeg"))) out.add(f);
+        }
+        return out;
+    }
+
+    private static int[] parseSize(String s) {
+        String[] p = s.toLowerCase(Locale.ROOT).split("x");
+        return new int[]{Integer.parseInt(p[0]), Integer.parseInt(p[1])};
+    }
+}
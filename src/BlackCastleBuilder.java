@@ -1,7 +1,4 @@
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Builds the three levels of the Black Castle.
  * Extends WorldBuilder to use shared registration utilities and Room behaviors.
@@ -9,13 +6,11 @@ import java.util.Map;
  */
 public class BlackCastleBuilder extends WorldBuilder {
 
-    private static final Map<Integer, Room> castleRooms = new HashMap<>();
-
-    /** Build all castle levels and return the entrance (Level 1) */
-    public static Room createCastle() {
+    /** Build all castle levels into the given template and return the entrance (Level 1) */
+    public static Room createCastle(WorldTemplate template) {
 
         // ---------- Level 1 ----------
-        Room lvl1 = regC(1, new PuzzleRoom(
+        Room lvl1 = template.regCastle(1, new PuzzleRoom(
             "BLACK CASTLE — Level 1:\n" +
             "You step through the emerald door into a vast, candlelit hall. " +
             "A chandelier glows above a grand table overflowing with fruit and bread — yet it feels wrong. " +
@@ -24,7 +19,7 @@ public class BlackCastleBuilder extends WorldBuilder {
 
         // The guardian golem
         Enemy stoneGolem = new Enemy("Stone Golem", 120, 15);
-        Room golemRoom = regC(2, new GoblinRoom(
+        Room golemRoom = template.regCastle(2, new GoblinRoom(
             "The Stone Golem towers before the staircase. Its eyes gleam faintly with runes. " +
             "You sense you can either answer riddles... or fight.",
             stoneGolem));
@@ -34,7 +29,7 @@ public class BlackCastleBuilder extends WorldBuilder {
 
         // ---------- Level 2 ----------
         Enemy treeMonster = new Enemy("Twisted Tree Guardian", 180, 22);
-        Room lvl2 = regC(3, new DragonRoom(
+        Room lvl2 = template.regCastle(3, new DragonRoom(
             "BLACK CASTLE — Level 2:\n" +
             "You ascend a winding staircase into a high walkway encircling the vast dining hall below. " +
             "Vines creep along the walls. A silver necklace glints in the shadows — it looks cursed.\n" +
@@ -43,7 +38,7 @@ public class BlackCastleBuilder extends WorldBuilder {
 
         // ---------- Level 3 ----------
         Enemy finalBoss = new Enemy("Spectral Titan", 250, 30);
-        Room lvl3 = regC(4, new DragonRoom(
+        Room lvl3 = template.regCastle(4, new DragonRoom(
             "BLACK CASTLE — Level 3:\n" +
             "You enter the final chamber. A grand altar rests in the center, its surface engraved with the sigil of Gandor. " +
             "Ghostly light fills the room. Placing the Goblet of Gandor on the altar awakens a divine figure — " +
@@ -68,18 +63,8 @@ public class BlackCastleBuilder extends WorldBuilder {
         PuzzleRoom riddleEntry = (PuzzleRoom) lvl1;
         riddleEntry.addItem(new Item("Note", "The golem rumbles: 'What must you keep when you give it away?' — answer: 'your word'."));
 
-                lvl1.setExit("south", WorldBuilder.getRoom(29));
-// ---------- Return castle entry ----------
+        lvl1.setExit("south", template.getRoom(29));
+        // ---------- Return castle entry ----------
         return lvl1;
     }
-
-    /** Helper to register castle rooms separately */
-    private static Room regC(int id, Room room) {
-        castleRooms.put(id, room);
-        return room;
-    }
-
-    public static Room getCastleRoom(int id) {
-        return castleRooms.get(id);
-    }
 }
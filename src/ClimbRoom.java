@@ -1,4 +1,8 @@
 public class ClimbRoom extends Room {
+    // Gear that satisfies each requirement, as ItemIds mask bits
+    private static final long SHOES_MASK = ItemIds.bit(ItemIds.intern("Shoes")) | ItemIds.bit(ItemIds.intern("Climbing Shoes"));
+    private static final long HOOK_MASK  = ItemIds.bit(ItemIds.intern("Grappling Hook"));
+
     private final boolean requiresShoes;
     private final boolean requiresHook;
 
@@ -8,9 +12,15 @@ public class ClimbRoom extends Room {
         this.requiresHook = requiresHook;
     }
 
+    static boolean hasShoes(long gearMask) { return (gearMask & SHOES_MASK) != 0; }
+    static boolean hasHook(long gearMask) { return (gearMask & HOOK_MASK) != 0; }
+
     public boolean canClimb(boolean hasShoes, boolean hasHook) {
         if (requiresShoes && !hasShoes) return false;
         if (requiresHook && !hasHook) return false;
         return true;
     }
+
+    /** Same rules as above, tested directly against the player's equipment mask */
+    public boolean canClimb(long gearMask) { return canClimb(hasShoes(gearMask), hasHook(gearMask)); }
 }
@@ -0,0 +1,14 @@
+/** A tokenized player command: a verb plus its (possibly empty) argument */
+public final class Command {
+    public static final Command UNKNOWN = new Command(Verb.UNKNOWN, "");
+
+    private final Verb verb;
+    private final String arg;
+
+    public Command(Verb verb, String arg) { this.verb = verb; this.arg = arg; }
+
+    public Verb verb() { return verb; }
+    public String arg() { return arg; }
+
+    @Override public String toString() { return arg.isEmpty() ? verb.name() : verb.name() + " " + arg; }
+}
@@ -0,0 +1,9 @@
+/**
+ * Handles one verb for a session. Game registers the defaults and rooms may register their own,
+ * which win while the player is in that room. Rooms are shared by every session, so handlers
+ * must work through the Game they are given rather than capture one.
+ */
+@FunctionalInterface
+public interface CommandHandler {
+    String handle(Game game, String arg);
+}
@@ -0,0 +1,283 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Durable session state as a snapshot (SaveGame) plus an append-only journal of the commands run since.
+ * record() only encodes the command into a buffer; a daemon thread writes whatever has accumulated
+ * and fsyncs once per batch (group commit), so a crash loses at most the last COMMIT_MS of input.
+ * Every COMPACT_EVERY commands the session is snapshotted and the journal starts over.
+ *
+ * Journal layout (big-endian): int magic 'GJNL', int version, int baseHash (hash of the snapshot it follows),
+ * then records of { int length, int crc32, byte verb, int argLength, argLength x byte utf8Arg, int stateHash }. A torn or corrupt tail
+ * record ends replay. stateHash is stateHash(game) after the command, a cheap fingerprint of the session
+ * that replay checks so a journal can never silently diverge from what the player saw.
+ */
+public final class CommandJournal {
+    static final int MAGIC = 0x474A4E4C;   // "GJNL"
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    private static final long COMMIT_MS = Long.getLong("gandor.journal.commitMs", 20L);
+    private static final int COMPACT_EVERY = Integer.getInteger("gandor.journal.compactEvery", 500);
+    private static final int EAGER_BYTES = 64 << 10;     // commit early once this much is waiting
+    private static final int MAX_RECORD = 1 << 20;       // longer commands are not journaled (nobody types a megabyte)
+
+    private static final LatencyHistogram COMMIT_TIME = Metrics.latency("journal.commit");
+    private static final LatencyHistogram COMPACT_TIME = Metrics.latency("journal.compact");
+    private static final LatencyHistogram REPLAY_TIME = Metrics.latency("journal.replay");
+
+    public static Path defaultSnapshot() { return Paths.get(System.getProperty("gandor.save", "saves/autosave.bin")); }
+    public static Path defaultJournal() { return Paths.get(System.getProperty("gandor.journal", "saves/journal.bin")); }
+
+    private final Path snapshotFile;
+    private final FileChannel journal;
+    private final Thread writer;
+
+    // Guarded by this
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream(4096);
+    private byte[] pendingSnapshot;          // compaction waiting to be written; pending then holds only later records
+    private long appended, committed;        // record counts, for sync()
+    private boolean closed;
+
+    private int sinceCompaction;             // game thread only
+    private final CRC32 crc = new CRC32();   // game thread only
+
+    /** Start journaling a session whose current state is game; it is snapshotted first so the journal starts empty */
+    public CommandJournal(Path snapshotFile, Path journalFile, Game game) throws IOException {
+        this.snapshotFile = snapshotFile;
+        if (journalFile.getParent() != null) Files.createDirectories(journalFile.getParent());
+        journal = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        compactNow(SaveGame.capture(game));
+        writer = new Thread(this::commitLoop, "journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "journal-close"));
+    }
+
+    /** Journal a command the game has just run; call on the game thread right after execute */
+    public void record(Game game, Verb verb, String arg) {
+        if (verb == Verb.UNKNOWN) return;
+        byte[] rec = encode(verb, arg, stateHash(game));
+        if (rec == null) {
+            Log.warn("Not journaling a " + verb + " command with a " + arg.length() + "-character argument");
+            return;
+        }
+        boolean compact = ++sinceCompaction >= COMPACT_EVERY;
+        if (compact) sinceCompaction = 0;
+        byte[] snapshot = compact ? SaveGame.capture(game) : null;     // the only full serialization, once per COMPACT_EVERY
+        synchronized (this) {
+            if (closed) return;
+            if (compact) {
+                // The snapshot already contains every record still waiting, so they need not be written
+                pendingSnapshot = snapshot;
+                pending.reset();
+            } else {
+                pending.write(rec, 0, rec.length);
+            }
+            appended++;
+            if (compact || pending.size() >= EAGER_BYTES) notifyAll();
+        }
+    }
+
+    /** Block until everything recorded so far is on disk */
+    public synchronized void sync() throws InterruptedException {
+        long target = appended;
+        notifyAll();
+        while (committed < target && !closed) wait();
+    }
+
+    /** Commit what is pending and stop the writer */
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            notifyAll();
+        }
+        try { writer.join(2000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    }
+
+    private void commitLoop() {
+        while (true) {
+            byte[] records, snapshot;
+            long upTo;
+            boolean last;
+            synchronized (this) {
+                if (!closed && pending.size() == 0 && pendingSnapshot == null) {
+                    try { wait(COMMIT_MS); } catch (InterruptedException e) { return; }
+                }
+                snapshot = pendingSnapshot;
+                pendingSnapshot = null;
+                records = pending.size() == 0 ? null : pending.toByteArray();
+                pending.reset();
+                upTo = appended;
+                last = closed;
+            }
+            try {
+                if (snapshot != null) compactNow(snapshot);
+                if (records != null) commit(records);
+            } catch (IOException e) {
+                Log.error("Journal write failed, progress since the last snapshot may be lost: " + e);
+            }
+            synchronized (this) {
+                committed = upTo;
+                notifyAll();
+            }
+            if (last) {
+                try { journal.close(); } catch (IOException ignored) {}
+                return;
+            }
+        }
+    }
+
+    private void commit(byte[] records) throws IOException {
+        long t0 = System.nanoTime();
+        ByteBuffer b = ByteBuffer.wrap(records);
+        long pos = journal.size();
+        while (b.hasRemaining()) pos += journal.write(b, pos);
+        journal.force(false);
+        COMMIT_TIME.recordSince(t0);
+    }
+
+    /** Make snapshot durable, then restart the journal after it; a crash in between leaves a stale journal recover() skips */
+    private void compactNow(byte[] snapshot) throws IOException {
+        long t0 = System.nanoTime();
+        SaveGame.write(snapshotFile, snapshot);
+        journal.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).putInt(Arrays.hashCode(snapshot));
+        header.flip();
+        while (header.hasRemaining()) journal.write(header, header.position());
+        journal.force(true);
+        COMPACT_TIME.recordSince(t0);
+    }
+
+    /**
+     * Fingerprint of what commands can change: the player's health, room, gear, inventory and exploration,
+     * and the world's changed rooms, wounded enemies, defeated and solved rooms. A few small hashes per command,
+     * instead of a full SaveGame capture; replay compares it, so the two sides must hash the same things.
+     */
+    static int stateHash(Game game) {
+        Player p = game.getPlayer();
+        World w = game.getWorld();
+        int h = p.getHealth();
+        h = 31 * h + p.getCurrentRoom().getId();
+        h = 31 * h + Long.hashCode(p.gearMask());
+        for (Item it : p.getInventory()) h = 31 * h + it.getName().hashCode();
+        h = 31 * h + p.visitedRooms().hashCode();
+        h = 31 * h + p.traversedExits().hashCode();
+        // Summed, so the maps' iteration order (which can differ after a restore) does not matter
+        int rooms = 0, enemies = 0;
+        for (Map.Entry<Integer, ItemIndex> e : w.changedItems().entrySet()) rooms += (e.getKey() * 1009 + e.getValue().size()) * 0x9E3779B1;
+        for (Map.Entry<Integer, Enemy> e : w.foughtEnemies().entrySet()) enemies += (e.getKey() * 1009 + e.getValue().getHealth()) * 0x9E3779B1;
+        h = 31 * (31 * h + rooms) + enemies;
+        h = 31 * h + w.defeatedRooms().hashCode();
+        return 31 * h + w.solvedRooms().hashCode();
+    }
+
+    /** The framed record, or null if it would be longer than MAX_RECORD */
+    private byte[] encode(Verb verb, String arg, int stateHash) {
+        byte[] argBytes = arg.getBytes(StandardCharsets.UTF_8);
+        if (argBytes.length > MAX_RECORD - 16) return null;
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(16 + argBytes.length);
+            DataOutputStream out = new DataOutputStream(payload);
+            out.writeByte(verb.ordinal());
+            out.writeInt(argBytes.length);
+            out.write(argBytes);
+            out.writeInt(stateHash);
+            byte[] body = payload.toByteArray();
+            crc.reset();
+            crc.update(body, 0, body.length);
+            return ByteBuffer.allocate(8 + body.length).putInt(body.length).putInt((int) crc.getValue()).put(body).array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);      // in-memory stream
+        }
+    }
+
+    /**
+     * Rebuild the last session: its snapshot with the journal's commands replayed on top.
+     * Returns a new Game if there is no usable snapshot. Replay stops at the first torn record
+     * or at a command whose resulting state does not match what was journaled; that command is undone,
+     * and if it cannot be the session is abandoned for a new Game rather than kept diverged.
+     */
+    public static Game recover(Path snapshotFile, Path journalFile) {
+        if (!Files.isRegularFile(snapshotFile)) return new Game();
+        long t0 = System.nanoTime();
+        byte[] snapshot;
+        Game game;
+        try {
+            snapshot = Files.readAllBytes(snapshotFile);
+            game = SaveGame.restore(snapshot);
+        } catch (IOException | RuntimeException e) {
+            Log.warn("Ignoring save " + snapshotFile + ": " + e);
+            return new Game();
+        }
+        if (!Files.isRegularFile(journalFile)) return game;
+
+        int replayed = 0;
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(journalFile))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) throw new IOException("Not a journal");
+            if (in.readInt() != Arrays.hashCode(snapshot)) return game;    // written before the snapshot it follows
+            Verb[] verbs = Verb.values();
+            CRC32 check = new CRC32();
+            while (true) {
+                int len, sum;
+                byte[] body;
+                try {
+                    len = in.readInt();
+                    sum = in.readInt();
+                    if (len <= 0 || len > MAX_RECORD) break;
+                    body = new byte[len];
+                    in.readFully(body);
+                } catch (EOFException torn) {
+                    break;
+                }
+                check.reset();
+                check.update(body, 0, len);
+                if ((int) check.getValue() != sum) break;
+                DataInputStream rec = new DataInputStream(new ByteArrayInputStream(body));
+                int v = rec.readUnsignedByte();
+                if (v >= verbs.length) break;
+                int argLength = rec.readInt();
+                if (argLength < 0 || argLength > len) break;
+                byte[] argBytes = new byte[argLength];
+                rec.readFully(argBytes);
+                String arg = new String(argBytes, StandardCharsets.UTF_8);
+                int stateHash = rec.readInt();
+                byte[] before = SaveGame.capture(game);                      // startup only, to undo a divergence
+                game.execute(verbs[v], arg);
+                if (stateHash(game) != stateHash) {
+                    // Return the last state the journal vouches for, not the one this command produced
+                    Log.warn("Journal replay diverged at command " + (replayed + 1) + " (" + verbs[v] + " " + arg + "); stopping before it");
+                    try {
+                        game = SaveGame.restore(before);
+                    } catch (IOException | RuntimeException e) {
+                        Log.warn("Could not roll back the diverged command, starting a new game: " + e);
+                        return new Game();
+                    }
+                    break;
+                }
+                replayed++;
+            }
+        } catch (IOException e) {
+            Log.warn("Could not replay journal " + journalFile + ": " + e);
+        } finally {
+            REPLAY_TIME.recordSince(t0);
+        }
+        Log.info("Recovered session: snapshot + " + replayed + " journaled commands");
+        return game;
+    }
+}
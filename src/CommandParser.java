@@ -0,0 +1,98 @@
+import java.util.Locale;
+
+/**
+ * Turns a line of player input into a Command with a single left-to-right scan.
+ * The verb words live in a small trie built once, so parsing does no regex work
+ * and allocates at most the lower-cased input and the argument substring.
+ * Has no GUI dependencies, so headless drivers can share it with GameGUI.
+ */
+public final class CommandParser {
+
+    /** How a verb word treats the rest of the line */
+    private enum Arity { NONE, OPTIONAL, REQUIRED }
+
+    private static final class Node {
+        final Node[] next = new Node[26];
+        Verb verb;
+        Arity arity;
+        Command fixed;          // for words that are a whole command on their own (north, look, i, ...)
+        boolean needsUp;        // "pick" only counts as a verb when followed by "up"
+    }
+
+    private static final Node ROOT = new Node();
+
+    static {
+        for (Direction d : Direction.values()) word(d.label(), Verb.MOVE, Arity.NONE).fixed = new Command(Verb.MOVE, d.label());
+        word("go", Verb.MOVE, Arity.REQUIRED);
+        word("move", Verb.MOVE, Arity.REQUIRED);
+        word("look", Verb.LOOK, Arity.NONE);
+        word("l", Verb.LOOK, Arity.NONE);
+        word("take", Verb.TAKE, Arity.REQUIRED);
+        word("pickup", Verb.TAKE, Arity.REQUIRED);
+        word("pick", Verb.TAKE, Arity.REQUIRED).needsUp = true;
+        word("use", Verb.USE, Arity.REQUIRED);
+        word("drink", Verb.USE, Arity.REQUIRED);
+        word("equip", Verb.EQUIP, Arity.REQUIRED);
+        word("unequip", Verb.UNEQUIP, Arity.REQUIRED);
+        word("attack", Verb.ATTACK, Arity.OPTIONAL);
+        word("solve", Verb.SOLVE, Arity.REQUIRED);
+        word("give", Verb.GIVE, Arity.REQUIRED);
+        word("inventory", Verb.INVENTORY, Arity.NONE);
+        word("inv", Verb.INVENTORY, Arity.NONE);
+        word("i", Verb.INVENTORY, Arity.NONE);
+        word("gear", Verb.GEAR, Arity.NONE);
+        word("equipment", Verb.GEAR, Arity.NONE);
+        word("speak", Verb.SPEAK, Arity.NONE);
+        word("travel", Verb.TRAVEL, Arity.REQUIRED);
+    }
+
+    private static Node word(String w, Verb verb, Arity arity) {
+        Node n = ROOT;
+        for (int i = 0; i < w.length(); i++) {
+            int c = w.charAt(i) - 'a';
+            if (n.next[c] == null) n.next[c] = new Node();
+            n = n.next[c];
+        }
+        n.verb = verb;
+        n.arity = arity;
+        if (arity != Arity.REQUIRED) n.fixed = new Command(verb, "");
+        return n;
+    }
+
+    private CommandParser() {}
+
+    /** Parse raw input; never returns null (unrecognized input yields Command.UNKNOWN) */
+    public static Command parse(String input) {
+        if (input == null) return Command.UNKNOWN;
+        String s = input.toLowerCase(Locale.ROOT).trim();
+        int len = s.length();
+
+        // Walk the verb word through the trie
+        Node n = ROOT;
+        int i = 0;
+        while (i < len && !Character.isWhitespace(s.charAt(i))) {
+            int c = s.charAt(i) - 'a';
+            if (c < 0 || c >= 26 || (n = n.next[c]) == null) return Command.UNKNOWN;
+            i++;
+        }
+        if (n.verb == null) return Command.UNKNOWN;
+
+        i = skipSpace(s, i);
+        if (n.needsUp) {
+            if (!s.startsWith("up", i) || i + 2 >= len || !Character.isWhitespace(s.charAt(i + 2))) return Command.UNKNOWN;
+            i = skipSpace(s, i + 2);
+        }
+
+        boolean hasArg = i < len;
+        switch (n.arity) {
+            case NONE:     return hasArg ? Command.UNKNOWN : n.fixed;
+            case OPTIONAL: return n.fixed;
+            default:       return hasArg ? new Command(n.verb, s.substring(i)) : Command.UNKNOWN;
+        }
+    }
+
+    private static int skipSpace(String s, int i) {
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) i++;
+        return i;
+    }
+}
@@ -0,0 +1,21 @@
+/** The four ways out of a room; ordinal() indexes the exit table in WorldTemplate */
+public enum Direction {
+    NORTH("north"), SOUTH("south"), EAST("east"), WEST("west");
+
+    private static final Direction[] VALUES = values();
+
+    private final String label;
+
+    Direction(String label) { this.label = label; }
+
+    public String label() { return label; }
+
+    /** Case-insensitive lookup of "north", "south", ...; null if the word is not a direction */
+    public static Direction parse(String s) {
+        if (s == null) return null;
+        for (Direction d : VALUES) if (d.label.equalsIgnoreCase(s)) return d;
+        return null;
+    }
+
+    public static Direction byOrdinal(int ordinal) { return VALUES[ordinal]; }
+}
@@ -1,14 +1,12 @@
 public class DragonRoom extends GenericRoom {
-    private Enemy dragon;
+    private final Enemy dragon;
 
     public DragonRoom(String description, Enemy dragon) {
         super(description);
         this.dragon = dragon;
+        on(Verb.SPEAK, (game, arg) -> "You address the dragon. It rumbles, smoke curling from its nostrils... Best choose your next action wisely.");
     }
 
+    /** Template stats; the session's live copy comes from World.enemyIn */
     public Enemy getDragon() { return dragon; }
-
-    public void attackDragon(int dmg) {
-        if (dragon != null) dragon.takeDamage(dmg);
-    }
 }
@@ -7,6 +7,9 @@ public class Enemy {
         this.name = name; this.health = health; this.damage = damage;
     }
 
+    /** Fresh copy with this enemy's current stats, used for per-session state */
+    public Enemy copy() { return new Enemy(name, health, damage); }
+
     public String getName() { return name; }
     public int getHealth() { return health; }
     public int getDamage() { return damage; }
@@ -1,86 +1,205 @@
 import java.util.*;
 
 public class Game {
+    private static final LatencyHistogram LOOK_TIME   = Metrics.latency("game.look");
+    private static final LatencyHistogram MOVE_TIME   = Metrics.latency("game.move");
+    private static final LatencyHistogram TAKE_TIME   = Metrics.latency("game.take");
+    private static final LatencyHistogram USE_TIME    = Metrics.latency("game.use");
+    private static final LatencyHistogram ATTACK_TIME = Metrics.latency("game.attack");
+    private static final LatencyHistogram SOLVE_TIME  = Metrics.latency("game.solve");
+    private static final LatencyHistogram TRAVEL_TIME = Metrics.latency("game.travel");
+    private static final Metrics.CacheStats LOOK_CACHE = Metrics.cache("game.look");
+
     private final Player player;
+    private final World world;
+    private final Map<Verb, CommandHandler> commands = new EnumMap<>(Verb.class);
 
     public Game() {
-        System.out.println("[INFO] Game initialized");
-        player = new Player();
-        Room start = WorldBuilder.createWorld();
-        player.setCurrentRoom(start);
-        System.out.println("[DEBUG] World created. Starting in Room 1.");
+        this(new Player(), WorldBuilder.createWorld());
+        player.setCurrentRoom(world.getStart());
+        Log.debug("World created. Starting in Room 1.");
+    }
+
+    /** A session resumed from saved state (see SaveGame) */
+    Game(Player player, World world) {
+        Log.info("Game initialized");
+        this.player = player;
+        this.world = world;
+        registerCommands();
     }
 
+    // ======= Command registry =======
+    private void registerCommands() {
+        register(Verb.MOVE,      (g, arg) -> g.movePlayer(arg));
+        register(Verb.LOOK,      (g, arg) -> g.look());
+        register(Verb.TAKE,      (g, arg) -> g.pickUpItem(arg));
+        register(Verb.USE,       (g, arg) -> g.useItem(arg));
+        register(Verb.EQUIP,     (g, arg) -> g.useItem(arg));
+        register(Verb.UNEQUIP,   (g, arg) -> g.unequipItem(arg));
+        register(Verb.ATTACK,    (g, arg) -> g.attackEnemy());
+        register(Verb.SOLVE,     (g, arg) -> g.solvePuzzle(arg));
+        register(Verb.GIVE,      (g, arg) -> arg.trim().isEmpty() ? "Give what?"
+                : "You try to give '" + arg.trim() + "', but there's no one here to accept it.");
+        register(Verb.INVENTORY, (g, arg) -> g.inventoryText());
+        register(Verb.GEAR,      (g, arg) -> g.checkGear());
+        register(Verb.SPEAK,     (g, arg) -> "Not very effective.");
+        register(Verb.TRAVEL,    (g, arg) -> g.travel(arg));
+        register(Verb.UNKNOWN,   (g, arg) -> "I don't understand that. Try: look, north/south/east/west, take <item>, use <item>, equip <item>, give <item>, solve <answer>.");
+    }
+
+    /** Set the game-wide handler for a verb; a room's own handler still wins inside that room */
+    public void register(Verb verb, CommandHandler handler) { commands.put(verb, handler); }
+
+    public String execute(Command cmd) { return execute(cmd.verb(), cmd.arg()); }
+
+    /** Dispatch to the current room's handler for the verb, else the game's */
+    public String execute(Verb verb, String arg) {
+        CommandHandler h = player.getCurrentRoom().handlerFor(verb);
+        if (h == null) h = commands.get(verb);
+        return h.handle(this, arg);
+    }
+
+    // ======= Timed entry points =======
     public String look() {
+        long t0 = System.nanoTime();
+        try { return describeCurrentRoom(); } finally { LOOK_TIME.recordSince(t0); }
+    }
+
+    public String movePlayer(String direction) {
+        long t0 = System.nanoTime();
+        try { return move(direction); } finally { MOVE_TIME.recordSince(t0); }
+    }
+
+    public String pickUpItem(String name) {
+        long t0 = System.nanoTime();
+        try { return pickUp(name); } finally { TAKE_TIME.recordSince(t0); }
+    }
+
+    public String useItem(String name) {
+        long t0 = System.nanoTime();
+        try { return use(name); } finally { USE_TIME.recordSince(t0); }
+    }
+
+    public String attackEnemy() {
+        long t0 = System.nanoTime();
+        try { return attack(); } finally { ATTACK_TIME.recordSince(t0); }
+    }
+
+    public String solvePuzzle(String answer) {
+        long t0 = System.nanoTime();
+        try { return solve(answer); } finally { SOLVE_TIME.recordSince(t0); }
+    }
+
+    public String travel(String where) {
+        long t0 = System.nanoTime();
+        try { return travelTo(where); } finally { TRAVEL_TIME.recordSince(t0); }
+    }
+
+    // ======= Commands =======
+    private String describeCurrentRoom() {
         Room cur = player.getCurrentRoom();
+        String cached = world.cachedLook(cur);
+        if (cached != null) { LOOK_CACHE.hit(); return cached; }
+        LOOK_CACHE.miss();
+
         StringBuilder sb = new StringBuilder();
         sb.append(cur.getDescription());
 
-        if (!cur.getItems().isEmpty()) {
+        ItemIndex items = world.itemsIn(cur);
+        if (!items.isEmpty()) {
             sb.append("\n\nItems: ");
-            for (Item it : cur.getItems()) sb.append(it.getName()).append(", ");
+            for (Item it : items) sb.append(it.getName()).append(", ");
             sb.setLength(sb.length()-2);
         }
-        Map<String, Room> exits = cur.getExits();
-        if (exits != null && !exits.isEmpty()) {
-            sb.append("\n\nExits: ").append(String.join(", ", exits.keySet()));
+        boolean first = true;
+        for (Direction d : Direction.values()) {
+            if (!cur.hasExit(d)) continue;
+            sb.append(first ? "\n\nExits: " : ", ").append(d.label());
+            first = false;
         }
-        return sb.toString();
+        String text = sb.toString();
+        world.cacheLook(cur, text);
+        return text;
     }
 
-    public String movePlayer(String direction) {
+    private String move(String direction) {
         Room current = player.getCurrentRoom();
 
-        // Castle gate from Room 29
-        if (current == WorldBuilder.getRoom(29) && "west".equalsIgnoreCase(direction)) {
-            boolean hasEmeraldKey = player.getInventory().stream()
-                    .anyMatch(i -> i.getName().equalsIgnoreCase("Emerald Key"));
-            if (!hasEmeraldKey) {
+        Direction dir = Direction.parse(direction);
+        Room next = (dir == null) ? null : current.getExit(dir);
+        if (next == null) return "You can't go that way.";
+
+        // Castle gate from Room 29: the castle is part of the shared world, the door just needs the key
+        if (current == world.getRoom(29) && next == world.getCastleRoom(1)) {
+            if (!player.hasItem("Emerald Key")) {
                 return "A massive black-iron door bars your path. An emerald-shaped slot glows faintly..."; //you need the emerald key
-            } else {
-                Room castle = BlackCastleBuilder.createCastle();
-                player.setCurrentRoom(castle);
-                System.out.println("[DEBUG] Entered Black Castle.");
-                return "The emerald key hums in your hand. The door unlocks and swings open.\nYou step into the Black Castle...\n\n" + look();
             }
+            player.walk(dir, next);
+            Log.debug("Entered Black Castle.");
+            return "The emerald key hums in your hand. The door unlocks and swings open.\nYou step into the Black Castle...\n\n" + describeCurrentRoom();
         }
 
-        Room next = current.getExit(direction);
-        if (next == null) return "You can't go that way.";
-
         // Climb checks
         if (next instanceof ClimbRoom) {
-            boolean hasShoes = player.isEquipped("Shoes") || player.isEquipped("Climbing Shoes");
-            boolean hasHook  = player.isEquipped("Grappling Hook");
             ClimbRoom cr = (ClimbRoom) next;
-            if (!cr.canClimb(hasShoes, hasHook)) {
+            if (!cr.canClimb(player.gearMask())) {
                 player.takeDamage(20);
                 return "You try to climb but lack the proper gear. You slip and take 20 damage. (HP: " + player.getHealth() + ")";
             }
         }
 
-        player.setCurrentRoom(next);
-        System.out.println("[DEBUG] Moved to a new room.");
-        return look();
+        player.walk(dir, next);
+        Log.debug("Moved to a new room.");
+        return describeCurrentRoom();
     }
 
-    public String pickUpItem(String name) {
+    /** Walk a precomputed shortest route as one command; only the arrival is described */
+    private String travelTo(String where) {
+        Room target = roomNamed(where);
+        if (target == null) return "Travel where? Give a room number, e.g. travel 12 (or castle 2).";
         Room cur = player.getCurrentRoom();
-        Item found = null;
-        for (Item it : new ArrayList<>(cur.getItems())) {
-            if (it.getName().equalsIgnoreCase(name)) { found = it; break; }
+        if (target == cur) return "You are already there.";
+        Direction[] route = world.getTemplate().routes().route(RouteTable.gear(player), cur.getId(), target.getId());
+        if (route == null) return "You know of no safe way from here to " + where.trim() + " with what you carry.";
+
+        StringBuilder sb = new StringBuilder("You travel ");
+        String out = "";
+        for (int i = 0; i < route.length; i++) {
+            Room before = player.getCurrentRoom();
+            out = move(route[i].label());
+            if (player.getCurrentRoom() == before) return sb.append("... and are stopped.\n\n").append(out).toString();
+            sb.append(i == 0 ? "" : ", ").append(route[i].label());
         }
+        return sb.append(" (").append(route.length).append(route.length == 1 ? " move).\n\n" : " moves).\n\n").append(out).toString();
+    }
+
+    /** "12", "room 12" or "castle 2"; null if no such room */
+    private Room roomNamed(String where) {
+        String s = where.trim().toLowerCase(Locale.ROOT);
+        int base = 0;
+        if (s.startsWith("castle")) { base = WorldTemplate.CASTLE_BASE; s = s.substring(6).trim(); }
+        else if (s.startsWith("room")) s = s.substring(4).trim();
+        try {
+            return world.getRoom(base + Integer.parseInt(s));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String pickUp(String name) {
+        Room cur = player.getCurrentRoom();
+        Item found = world.findItem(cur, name);
         if (found == null) return "No item named '" + name + "' here.";
-        cur.getItems().remove(found); // prevent duplicates on revisit
+        world.removeItem(cur, found); // prevent duplicates on revisit
         player.getInventory().add(found);
-        System.out.println("[DEBUG] Picked up item: " + found.getName());
+        if (Log.isDebug()) Log.debug("Picked up item: " + found.getName());
         return "You pick up the " + found.getName() + ".";
     }
 
     public String unequipItem(String name) {
         if (name == null || name.trim().isEmpty()) return "Unequip what?";
         player.unequipByName(name.trim());
-        System.out.println("[DEBUG] Unequipped: " + name.trim());
+        if (Log.isDebug()) Log.debug("Unequipped: " + name.trim());
         return "You unequip " + name.trim() + ".";
     }
 
@@ -88,74 +207,76 @@ public class Game {
         return player.equippedSummary();
     }
 
-    public String useItem(String name) {
+    private String inventoryText() {
+        ItemIndex inv = player.getInventory();
+        if (inv.isEmpty()) return "Your inventory is empty.";
+        StringBuilder sb = new StringBuilder("Inventory:");
+        for (Item it : inv) sb.append("\n- ").append(it.getName());
+        return sb.toString();
+    }
+
+    private String use(String name) {
         if (name == null || name.trim().isEmpty()) return "Use what?";
         String target = name.trim();
 
         // Find the item in inventory
-        Item found = null;
-        for (Item it : player.getInventory()) {
-            if (it.getName().equalsIgnoreCase(target)) { found = it; break; }
-        }
+        Item found = player.getInventory().find(target);
         if (found == null) return "You don't have '" + target + "'.";
 
         // Contextual rule: Rusty Dagger breaks if used on Room 6 "door"
-        if (player.getCurrentRoom() == WorldBuilder.getRoom(6) && found.getName().equalsIgnoreCase("Rusty Dagger")) {
+        if (player.getCurrentRoom() == world.getRoom(6) && found.getName().equalsIgnoreCase("Rusty Dagger")) {
             // Break the dagger
             player.getInventory().remove(found);
             player.unequipByName(found.getName());
-            System.out.println("[DEBUG] Rusty Dagger broke on Room 6 door.");
+            Log.debug("Rusty Dagger broke on Room 6 door.");
             return "You strike the heavy metal door with your Rusty Dagger.\nThe blade snaps in two — it's useless now.";
         }
 
         // Equip/activate without consuming
         if (found instanceof Weapon) {
             player.equipWeapon((Weapon) found);
-            System.out.println("[DEBUG] Equipped weapon: " + found.getName());
+            if (Log.isDebug()) Log.debug("Equipped weapon: " + found.getName());
             return found.getName() + " equipped.";
         }
         if (found instanceof Armor) {
             player.equipArmor((Armor) found);
-            System.out.println("[DEBUG] Equipped armor: " + found.getName());
+            if (Log.isDebug()) Log.debug("Equipped armor: " + found.getName());
             return found.getName() + " equipped.";
         }
 
         // Generic items equip by name (Shoes, Climbing Shoes, Grappling Hook)
-        player.equipByName(found.getName());
-        System.out.println("[DEBUG] Equipped item: " + found.getName());
+        player.equipItem(found);
+        if (Log.isDebug()) Log.debug("Equipped item: " + found.getName());
         return found.getName() + " equipped.";
     }
 
-    public String attackEnemy() {
+    private String attack() {
         Room cur = player.getCurrentRoom();
-        Enemy target = null;
-        if (cur instanceof GoblinRoom) {
-            target = ((GoblinRoom) cur).getEnemy();
-        } else if (cur instanceof DragonRoom) {
-            target = ((DragonRoom) cur).getDragon();
-        }
+        Enemy target = world.enemyIn(cur);
         if (target == null) return "There is nothing here to attack.";
 
         int dmg = player.attack();
         target.takeDamage(dmg);
         if (!target.isAlive()) {
-            if (cur instanceof GoblinRoom) ((GoblinRoom) cur).removeEnemy();
-            System.out.println("[DEBUG] Enemy defeated: " + target.getName());
+            if (cur instanceof GoblinRoom) world.defeatEnemy(cur);
+            if (Log.isDebug()) Log.debug("Enemy defeated: " + target.getName());
             return "You strike for " + dmg + " and defeat the " + target.getName() + "!";
         }
         player.takeDamage(target.getDamage());
         return "You strike for " + dmg + ". The " + target.getName() + " hits back for " + target.getDamage() + ". (HP: " + player.getHealth() + ")";
     }
 
-    public String solvePuzzle(String answer) {
+    private String solve(String answer) {
         Room cur = player.getCurrentRoom();
         if (!(cur instanceof PuzzleRoom)) return "There is no puzzle to solve here...";
         PuzzleRoom pr = (PuzzleRoom) cur;
         boolean ok = pr.solveRiddle(answer);
-        System.out.println("[DEBUG] Puzzle attempted. Success=" + ok);
+        if (ok) world.markSolved(pr);
+        if (Log.isDebug()) Log.debug("Puzzle attempted. Success=" + ok);
         return ok ? "You solved the riddle: " + pr.getRiddle().getQuestion() + "\nA mechanism clicks somewhere..."
                 : "That doesn't seem right...";
     }
 
     public Player getPlayer() { return player; }
+    public World getWorld() { return world; }
 }
@@ -4,13 +4,11 @@ import javax.swing.border.LineBorder;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.*;
-import javax.imageio.ImageIO;
-import javax.swing.Timer;
 
 
 public class GameGUI extends JFrame {
@@ -18,18 +16,39 @@ public class GameGUI extends JFrame {
     // ======= Config =======
     private static final int FADE_DURATION_MS = 600;     // crossfade duration for images/colors
     private static final int TYPE_DELAY_MS    = 22;      // medium pace typing (lower = faster)
+    private static final int RESIZE_SETTLE_MS = 150;     // re-scale the scene only once resizing pauses this long
     private static final String IMAGE_DIR     = "images";
     private static final String AVATAR_DIR    = "images/avatars";
     private static final String INTRO_IMAGE   = IMAGE_DIR + "/intro.png";
     private static final String INTRO_TEXT_TXT= IMAGE_DIR + "/intro.txt"; // optional external intro text
+    private static final String TRANSCRIPT    = System.getProperty("gandor.transcript", "logs/transcript.txt"); // full story text, UTF-16
+    private static final long IMAGE_CACHE_BYTES = Long.getLong("gandor.imageCacheMB", 64L) << 20;
+    private static final String ASSET_PACK    = System.getProperty("gandor.assetPack", IMAGE_DIR + "/assets.pack"); // built by AssetPacker
 
     private static final Font STORY_FONT = new Font("Serif", Font.PLAIN, 18);
     private static final Font UI_FONT    = new Font(Font.SANS_SERIF, Font.PLAIN, 14);
     private static final Font MONO_FONT  = new Font(Font.MONOSPACED, Font.PLAIN, 14);
 
+    // ======= Metrics =======
+    private static final Map<Verb, LatencyHistogram> COMMAND_TIME = new EnumMap<>(Verb.class);
+    static {
+        for (Verb v : Verb.values()) COMMAND_TIME.put(v, Metrics.latency("gui.command." + v.name().toLowerCase(Locale.ROOT)));
+    }
+    private static final LatencyHistogram THEME_FRAME_TIME = Metrics.latency("gui.theme.frame");
+
     // ======= Game & State =======
     private final Game game;
-    private boolean typingActive = false;
+    private final CommandJournal journal;                              // null if saving is unavailable
+    private final Animator animator = new Animator();                  // drives every fade and the typewriter
+    private static final Object THEME_FADE = new Object();             // animator key for theme transitions
+
+    // ======= Images =======
+    private final SceneImageCache images = new SceneImageCache(IMAGE_CACHE_BYTES, AssetPack.openIfPresent(ASSET_PACK));
+    private final ScenePrefetcher prefetcher = new ScenePrefetcher(images, 2);
+    private Room prefetchedFor;                                         // room whose neighbours are warming
+    private final Map<Class<?>, String> sceneAssets = new HashMap<>(); // room type -> resolved image path
+    private String scenePath;                                           // what the scene panel is showing
+    private final javax.swing.Timer sceneResize = new javax.swing.Timer(RESIZE_SETTLE_MS, e -> showScene(scenePath, true));
 
     // ======= UI: Containers =======
     private final JPanel root = new JPanel(new BorderLayout());
@@ -40,9 +59,11 @@ public class GameGUI extends JFrame {
     private final JPanel rightBottom = new JPanel(new BorderLayout());
 
     // ======= UI: Left/Center =======
-    private final CrossfadeImagePanel sceneImagePanel = new CrossfadeImagePanel();
+    private final CrossfadeImagePanel sceneImagePanel = new CrossfadeImagePanel(animator);
     private final JTextArea storyArea = new JTextArea();
     private final JTextField commandField = new JTextField();
+    private final StoryLog storyLog = new StoryLog(storyArea, Paths.get(TRANSCRIPT));
+    private final Typewriter typewriter = new Typewriter(storyLog, animator, TYPE_DELAY_MS);
 
     // ======= UI: Right =======
     private final JProgressBar hpBar = new JProgressBar(0, 100);
@@ -56,23 +77,32 @@ public class GameGUI extends JFrame {
     private final JButton btnSpeak     = new JButton("Speak");
     private final JButton btnAttack    = new JButton("Attack");
     private final JButton btnGive      = new JButton("Give");
+    private final JButton btnMap       = new JButton("Map");
+    private WorldMapView worldMap;                                     // created the first time the map is opened
+    private JDialog mapDialog;
 
     // Keep a direct reference to the Inventory title so theme changes are easy
     private final JLabel invTitleLabel = new JLabel("Inventory", SwingConstants.LEFT);
 
+    private final JButton[] buttons = {btnInventory, btnHelp, btnHint, btnSpeak, btnAttack, btnGive, btnMap};
+
     // For color theme fading (applies to *inner* panels; outer stays dark)
-    private Color currentBg = new Color(245, 240, 225);
-    private Color currentFg = new Color(40, 30, 20);
-    private Color currentAccent = new Color(120, 85, 60);
-    private Color currentTitleBar = new Color(210, 200, 180);
+    private final Map<Class<?>, Theme> themes = new HashMap<>();   // room type -> theme, resolved once
+    private Theme themeTarget;                                      // theme showing or being faded to
+    private final int[] themeShown = new int[Theme.SLOTS];          // packed RGB per slot on screen, -1 = not yet set
+    private final int[] themeFrom = new int[Theme.SLOTS];
+    private final int[] themeFrame = new int[Theme.SLOTS];
 
     public GameGUI(Game game) {
         super("The Lost Relic of Galdor");
         this.game = game;
+        this.journal = openJournal(game);
+        Arrays.fill(themeShown, -1);
 
         initWindow();
         buildLayout();
         wireActions();
+        installSkipKey();
 
         // Start with intro; gameplay loads after intro completes
         playIntroSequence();
@@ -109,6 +139,11 @@ public class GameGUI extends JFrame {
 
         // (1) Scene image (framed)
         sceneImagePanel.setPreferredSize(new Dimension(720, 260));
+        // While the window is being dragged the current image is drawn stretched; only the settled size is cached
+        sceneResize.setRepeats(false);
+        sceneImagePanel.addComponentListener(new ComponentAdapter() {
+            @Override public void componentResized(ComponentEvent e) { sceneResize.restart(); }
+        });
         JPanel sceneFrame = framed(sceneImagePanel, 3);
 
         // (2) Story text (framed)
@@ -119,6 +154,7 @@ public class GameGUI extends JFrame {
         storyArea.setBorder(new EmptyBorder(12, 12, 12, 12));
         JScrollPane storyScroll = new JScrollPane(storyArea);
         storyScroll.setBorder(null);
+        storyLog.followScroll(storyScroll);
         JPanel storyFrame = framed(storyScroll, 3);
         storyFrame.setPreferredSize(new Dimension(720, 320));
 
@@ -171,8 +207,8 @@ public class GameGUI extends JFrame {
         JPanel rightTopFrame = framed(rightTopInner, 3);
 
         // (5) Bottom: Buttons + Avatar (framed)
-        JPanel buttonRow = new JPanel(new GridLayout(2, 3, 8, 8)); // 3x2 grid
-        for (JButton b : new JButton[]{btnInventory, btnHelp, btnHint, btnSpeak, btnAttack, btnGive}) {
+        JPanel buttonRow = new JPanel(new GridLayout(2, 4, 8, 8)); // 4x2 grid
+        for (JButton b : buttons) {
             b.setFocusPainted(false);
             b.setFont(UI_FONT);
             buttonRow.add(b);
@@ -215,7 +251,7 @@ public class GameGUI extends JFrame {
     private void wireActions() {
         // Enter submits command
         commandField.addActionListener(e -> {
-            if (typingActive) return; // avoid overlapping while typing
+            if (typewriter.isTyping()) return; // avoid overlapping while typing
             String cmd = commandField.getText().trim();
             if (!cmd.isEmpty()) {
                 handleCommand(cmd);
@@ -224,29 +260,31 @@ public class GameGUI extends JFrame {
         });
 
         btnInventory.addActionListener(e -> {
-            if (typingActive) return;
-            String inv = getInventoryText();
-            appendStoryTypewriter(inv.isEmpty() ? "Your inventory is empty." : "Inventory:\n" + inv);
+            if (typewriter.isTyping()) return;
+            appendStoryTypewriter(game.execute(Verb.INVENTORY, ""));
         });
 
-        btnHelp.addActionListener(e -> { if (!typingActive) showHelp(); });
-        btnHint.addActionListener(e -> { if (!typingActive) appendStoryTypewriter("Hint: Explore thoroughly. Try LOOK, and experiment with USE, EQUIP, and SOLVE in puzzle rooms."); });
-        btnSpeak.addActionListener(e -> { if (!typingActive) performSpeakAction(); });
+        btnHelp.addActionListener(e -> { if (!typewriter.isTyping()) showHelp(); });
+        btnHint.addActionListener(e -> { if (!typewriter.isTyping()) appendStoryTypewriter("Hint: Explore thoroughly. Try LOOK, and experiment with USE, EQUIP, and SOLVE in puzzle rooms."); });
+        btnSpeak.addActionListener(e -> { if (!typewriter.isTyping()) appendStoryTypewriter(game.execute(Verb.SPEAK, "")); });
 
         btnAttack.addActionListener(e -> {
-            if (typingActive) return;
-            String out = game.attackEnemy();
+            if (typewriter.isTyping()) return;
+            String out = game.execute(Verb.ATTACK, "");
             appendStoryTypewriter(out);
             updateHP();
+            journal(Verb.ATTACK, "");
         });
 
+        btnMap.addActionListener(e -> { if (!typewriter.isTyping()) showMap(); });
+
         btnGive.addActionListener(e -> {
-            if (typingActive) return;
+            if (typewriter.isTyping()) return;
             String item = JOptionPane.showInputDialog(this, "What would you like to give?", "Give", JOptionPane.QUESTION_MESSAGE);
             if (item != null) {
                 item = item.trim();
                 if (!item.isEmpty()) {
-                    String out = tryGive(item);
+                    String out = game.execute(Verb.GIVE, item);
                     appendStoryTypewriter(out);
                 }
             }
@@ -257,18 +295,9 @@ public class GameGUI extends JFrame {
     private void playIntroSequence() {
         setControlsEnabled(false);
         // Clear text and show intro image
-        storyArea.setText("");
+        typewriter.clear();
         updatePanelBordersAndBackgrounds();
-        try {
-            if (new File(INTRO_IMAGE).exists()) {
-                BufferedImage img = ImageIO.read(new File(INTRO_IMAGE));
-                sceneImagePanel.setImage(img, FADE_DURATION_MS);
-            } else {
-                sceneImagePanel.setImage(null, 0);
-            }
-        } catch (Exception ex) {
-            sceneImagePanel.setImage(null, 0);
-        }
+        showScene(INTRO_IMAGE, false);
 
         // Title + intro text
         String title = "THE LOST RELIC OF GALDOR\n\n";
@@ -308,123 +337,82 @@ public class GameGUI extends JFrame {
         btnSpeak.setEnabled(enabled);
         btnAttack.setEnabled(enabled);
         btnGive.setEnabled(enabled);
+        btnMap.setEnabled(enabled);
     }
 
     // ======= Command handling =======
     private void handleCommand(String input) {
-        String cmd = input.toLowerCase(Locale.ROOT).trim();
-        String out;
-
-        // Movement
-        if (cmd.matches("^(north|south|east|west)$")) {
-            out = game.movePlayer(cmd);
-        } else if (cmd.startsWith("go ") || cmd.startsWith("move ")) {
-            String dir = cmd.replaceFirst("^(go|move)\\s+", "");
-            out = game.movePlayer(dir);
-        } else if (cmd.equals("look") || cmd.equals("l")) {
-            out = game.look();
-        } else if (cmd.startsWith("take ") || cmd.startsWith("pickup ") || cmd.startsWith("pick up ")) {
-            String item = cmd.replaceFirst("^(take|pickup|pick up)\\s+", "");
-            out = game.pickUpItem(item);
-        } else if (cmd.startsWith("use ") || cmd.startsWith("drink ")) {
-            String item = cmd.replaceFirst("^(use|drink)\\s+", "");
-            out = game.useItem(item);
-        } else if (cmd.startsWith("equip ")) {
-            String item = cmd.replaceFirst("^equip\\s+", "");
-            out = game.useItem(item);
-        } else if (cmd.startsWith("unequip ")) {
-            String item = cmd.replaceFirst("^unequip\\s+", "");
-            out = game.unequipItem(item);
-        } else if (cmd.equals("attack") || cmd.startsWith("attack ")) {
-            out = game.attackEnemy();
-        } else if (cmd.startsWith("solve ")) {
-            String answer = cmd.replaceFirst("^solve\\s+", "");
-            out = game.solvePuzzle(answer);
-        } else if (cmd.startsWith("give ")) {
-            String item = cmd.replaceFirst("^give\\s+", "").trim();
-            out = tryGive(item);
-        } else if (cmd.equals("inventory") || cmd.equals("inv") || cmd.equals("i")) {
-            String inv = getInventoryText();
-            out = inv.isEmpty() ? "Your inventory is empty." : "Inventory:\n" + inv;
-        } else if (cmd.equals("gear") || cmd.equals("equipment")) {
-            out = game.checkGear();
-        } else if (cmd.equals("speak")) {
-            out = performSpeakAction();
-        } else {
-            out = "I don't understand that. Try: look, north/south/east/west, take <item>, use <item>, equip <item>, give <item>, solve <answer>.";
-        }
-
+        long t0 = System.nanoTime();
+        Command cmd = CommandParser.parse(input);
+        String out = game.execute(cmd);
         appendStoryTypewriter(out);
         updateHP();
         refreshInventory();
         applyThemeForCurrentRoom(false);
         updateSceneImageForCurrentRoom(false);
         updateAvatarForGear();
+        refreshMap();
+        journal(cmd.verb(), cmd.arg());
+        COMMAND_TIME.get(cmd.verb()).recordSince(t0);
     }
 
-    // ======= Safe Give fallback =======
-    private String tryGive(String item) {
-        if (item == null || item.isEmpty()) return "Give what?";
+    // ======= Saving =======
+    private static CommandJournal openJournal(Game game) {
         try {
-            java.lang.reflect.Method m = game.getClass().getMethod("giveItem", String.class);
-            Object res = m.invoke(game, item);
-            return (res != null) ? res.toString() : "You try to give '" + item + "', but nothing happens.";
-        } catch (NoSuchMethodException ns) {
-            return "You try to give '" + item + "', but there's no one here to accept it.";
-        } catch (Exception ex) {
-            return "You try to give '" + item + "', but nothing happens.";
+            return new CommandJournal(CommandJournal.defaultSnapshot(), CommandJournal.defaultJournal(), game);
+        } catch (IOException e) {
+            Log.warn("Saving disabled: " + e);
+            return null;
         }
     }
 
-    // ======= Speak button/command =======
-    private String performSpeakAction() {
-        Room cur = game.getPlayer().getCurrentRoom();
-        String roomType = cur.getClass().getSimpleName();
-        String msg;
-        if (roomType.equalsIgnoreCase("OldLadyRoom")) {
-            msg = "You greet the old lady. She eyes you kindly and mutters about 'paths hidden in plain sight.'";
-        } else if (roomType.equalsIgnoreCase("GoblinRoom")) {
-            msg = "You try speaking to the goblin. It snarls back — not very conversational.";
-        } else if (roomType.equalsIgnoreCase("DragonRoom")) {
-            msg = "You address the dragon. It rumbles, smoke curling from its nostrils... Best choose your next action wisely.";
-        } else {
-            msg = "Not very effective.";
+    private void journal(Verb verb, String arg) {
+        if (journal != null) journal.record(game, verb, arg);
+    }
+
+    // ======= World Map =======
+    /** The map is the World Map item's: without it there is nothing to show, though travels are still recorded */
+    private void showMap() {
+        if (!game.getPlayer().hasItem("World Map")) {
+            appendStoryTypewriter("You have no map to chart your travels on. Perhaps someone in these lands keeps one...");
+            return;
+        }
+        if (mapDialog == null) {
+            worldMap = new WorldMapView();
+            mapDialog = new JDialog(this, "World Map", false);
+            mapDialog.setContentPane(worldMap);
+            mapDialog.pack();
+            mapDialog.setLocationRelativeTo(this);
         }
-        appendStoryTypewriter(msg);
-        return msg;
+        worldMap.refresh(game.getPlayer());
+        mapDialog.setVisible(true);
     }
 
-    // ======= Story / Output (typewriter) =======
-    private void appendStory(String text) {
-        if (text == null || text.isEmpty()) return;
-        storyArea.append(text + "\n\n");
-        storyArea.setCaretPosition(storyArea.getDocument().getLength());
+    /** Only an open map is kept current; opening it catches up on everything explored meanwhile */
+    private void refreshMap() {
+        if (mapDialog != null && mapDialog.isVisible()) worldMap.refresh(game.getPlayer());
     }
 
+    // ======= Story / Output (typewriter) =======
+    private void appendStory(String text) { typewriter.append(text); }
+
     private void appendStoryTypewriter(String text) { appendStoryTypewriter(text, null); }
 
-    private void appendStoryTypewriter(String text, Runnable onDone) {
-        if (text == null || text.isEmpty()) { if (onDone != null) onDone.run(); return; }
-        typingActive = true;
-        // Ensure spacing between chunks
-        if (storyArea.getDocument().getLength() > 0 && !storyArea.getText().endsWith("\n\n")) {
-            storyArea.append("\n");
-        }
-        final char[] chars = (text + "\n\n").toCharArray();
-        final int[] idx = {0};
-
-        Timer t = new Timer(TYPE_DELAY_MS, null);
-        t.addActionListener(e -> {
-            storyArea.append(String.valueOf(chars[idx[0]]));
-            idx[0]++;
-            storyArea.setCaretPosition(storyArea.getDocument().getLength());
-            if (idx[0] >= chars.length) {
-                ((Timer)e.getSource()).stop();
-                typingActive = false;
-                if (onDone != null) onDone.run();
+    private void appendStoryTypewriter(String text, Runnable onDone) { typewriter.type(text, onDone); }
+
+    /** Any key finishes the text being typed; that key press is swallowed so it doesn't also act */
+    private void installSkipKey() {
+        KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(e -> {
+            if (e.getID() != KeyEvent.KEY_PRESSED || !typewriter.isTyping()) return false;
+            if (SwingUtilities.getWindowAncestor(e.getComponent()) != this && e.getComponent() != this) return false;
+            switch (e.getKeyCode()) {
+                case KeyEvent.VK_SHIFT: case KeyEvent.VK_CONTROL: case KeyEvent.VK_ALT: case KeyEvent.VK_META:
+                    return false;
+                default:
+                    typewriter.skip();
+                    return true;
             }
         });
-        t.start();
     }
 
     // ======= HP / Inventory =======
@@ -436,16 +424,7 @@ public class GameGUI extends JFrame {
 
     private void refreshInventory() {
         inventoryModel.clear();
-        List<Item> inv = game.getPlayer().getInventory();
-        for (Item it : inv) inventoryModel.addElement(it.getName());
-    }
-
-    private String getInventoryText() {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < inventoryModel.size(); i++) {
-            sb.append("- ").append(inventoryModel.get(i)).append("\n");
-        }
-        return sb.toString().trim();
+        for (Item it : game.getPlayer().getInventory()) inventoryModel.addElement(it.getName());
     }
 
     private void updateAvatarForGear() {
@@ -455,105 +434,111 @@ public class GameGUI extends JFrame {
     }
 
     // ======= Themes =======
-    private static class Theme {
-        final Color bg, fg, accent, titleBar;
-        Theme(Color bg, Color fg, Color accent, Color titleBar) {
-            this.bg = bg; this.fg = fg; this.accent = accent; this.titleBar = titleBar;
+    /** Packed RGB for each themed slot; the tints are derived once here rather than per frame */
+    private static final class Theme {
+        static final int BG = 0, FG = 1, ACCENT = 2, TITLE = 3, STORY_BG = 4, COMMAND_BG = 5, LIST_BG = 6, BUTTON_BG = 7;
+        static final int SLOTS = 8;
+        final int[] rgb = new int[SLOTS];
+
+        Theme(int bg, int fg, int accent, int titleBar) {
+            rgb[BG] = bg; rgb[FG] = fg; rgb[ACCENT] = accent; rgb[TITLE] = titleBar;
+            rgb[STORY_BG] = mix(bg, 0xFFFFFF, 0.06);
+            rgb[COMMAND_BG] = mix(bg, 0xFFFFFF, 0.10);
+            rgb[LIST_BG] = mix(bg, 0xFFFFFF, 0.08);
+            rgb[BUTTON_BG] = mix(bg, accent, 0.15);
         }
-    }
 
-    private Theme themeForRoom(Room r) {
-        String name = r.getClass().getSimpleName();
-
-        Theme regular = new Theme(new Color(245,240,225), new Color(40,30,20), new Color(120,85,60), new Color(210,200,180));
-        Theme oldLady = new Theme(new Color(60,70,60),   new Color(220,230,220), new Color(100,130,100), new Color(70,85,70));
-        Theme dragon  = new Theme(new Color(20,15,20),   new Color(240,220,220), new Color(180,20,20),   new Color(40,20,20));
-        Theme puzzle  = new Theme(new Color(230,235,245),new Color(40,40,60),    new Color(180,160,210), new Color(210,215,230));
-        Theme golem   = new Theme(new Color(240,235,170),new Color(50,50,30),    new Color(180,180,180), new Color(230,225,170));
-        Theme goblin  = new Theme(new Color(90,85,70),   new Color(230,220,210), new Color(80,110,80),   new Color(100,95,80));
-        Theme goblinCamp = new Theme(blend(regular.bg, oldLady.bg, 0.5), blend(regular.fg, oldLady.fg, 0.5),
-                blend(regular.accent, oldLady.accent, 0.5), blend(regular.titleBar, oldLady.titleBar, 0.5));
+        /** Halfway-style blend of two themes */
+        Theme(Theme a, Theme b, double t) {
+            for (int i = 0; i < SLOTS; i++) rgb[i] = mix(a.rgb[i], b.rgb[i], t);
+        }
+    }
 
-        if ("DragonRoom".equalsIgnoreCase(name)) return dragon;
-        if ("OldLadyRoom".equalsIgnoreCase(name)) return oldLady;
-        if ("PuzzleRoom".equalsIgnoreCase(name)) return puzzle;
-        if ("GoblinRoom".equalsIgnoreCase(name)) return goblin;
-        if (name.toLowerCase().contains("golem")) return golem;
-        if (name.toLowerCase().contains("camp") && name.toLowerCase().contains("goblin")) return goblinCamp;
-        return regular;
+    private static final Theme REGULAR  = new Theme(0xF5F0E1, 0x281E14, 0x78553C, 0xD2C8B4);
+    private static final Theme OLD_LADY = new Theme(0x3C463C, 0xDCE6DC, 0x648264, 0x465546);
+    private static final Theme DRAGON   = new Theme(0x140F14, 0xF0DCDC, 0xB41414, 0x281414);
+    private static final Theme PUZZLE   = new Theme(0xE6EBF5, 0x28283C, 0xB4A0D2, 0xD2D7E6);
+    private static final Theme GOLEM    = new Theme(0xF0EBAA, 0x32321E, 0xB4B4B4, 0xE6E1AA);
+    private static final Theme GOBLIN   = new Theme(0x5A5546, 0xE6DCD2, 0x506E50, 0x645F50);
+    private static final Theme GOBLIN_CAMP = new Theme(REGULAR, OLD_LADY, 0.5);
+
+    private Theme themeForRoom(Room r) { return themes.computeIfAbsent(r.getClass(), GameGUI::resolveTheme); }
+
+    private static Theme resolveTheme(Class<?> type) {
+        String name = type.getSimpleName().toLowerCase(Locale.ROOT);
+        if (name.equals("dragonroom")) return DRAGON;
+        if (name.equals("oldladyroom")) return OLD_LADY;
+        if (name.equals("puzzleroom")) return PUZZLE;
+        if (name.equals("goblinroom")) return GOBLIN;
+        if (name.contains("golem")) return GOLEM;
+        if (name.contains("camp") && name.contains("goblin")) return GOBLIN_CAMP;
+        return REGULAR;
     }
 
-    private static Color blend(Color a, Color b, double t) {
-        int r = (int)Math.round(a.getRed()   * (1-t) + b.getRed()   * t);
-        int g = (int)Math.round(a.getGreen() * (1-t) + b.getGreen() * t);
-        int bl= (int)Math.round(a.getBlue()  * (1-t) + b.getBlue()  * t);
-        return new Color(r,g,bl);
+    /** Channel-wise a + (b - a) * t on packed RGB */
+    private static int mix(int a, int b, double t) {
+        int r = (int) Math.round(((a >> 16) & 0xFF) * (1 - t) + ((b >> 16) & 0xFF) * t);
+        int g = (int) Math.round(((a >> 8) & 0xFF) * (1 - t) + ((b >> 8) & 0xFF) * t);
+        int bl = (int) Math.round((a & 0xFF) * (1 - t) + (b & 0xFF) * t);
+        return (r << 16) | (g << 8) | bl;
     }
 
     private void applyThemeForCurrentRoom(boolean instant) {
-        Theme t = themeForRoom(game.getPlayer().getCurrentRoom());
-        fadeThemeTo(t.bg, t.fg, t.accent, t.titleBar, instant ? 0 : FADE_DURATION_MS);
-    }
-
-    private void applyColors(Color bg, Color fg, Color accent, Color titleBar) {
-        // Only inner panels get themed. Outer root stays dark.
-        leftStack.setBackground(bg);
-        rightSide.setBackground(bg);
-        storyArea.setBackground(blend(bg, Color.WHITE, 0.06));
-        storyArea.setForeground(fg);
-        commandField.setBackground(blend(bg, Color.WHITE, 0.10));
-        commandField.setForeground(fg);
-        inventoryList.setBackground(blend(bg, Color.WHITE, 0.08));
-        inventoryList.setForeground(fg);
-        hpBar.setBackground(bg);
-        hpBar.setForeground(accent);
-
-        // Inventory title bar
-        invTitleLabel.setBackground(titleBar);
-        invTitleLabel.setForeground(fg);
-
-        // Buttons
-        for (JButton b : new JButton[]{btnInventory, btnHelp, btnHint, btnSpeak, btnAttack, btnGive}) {
-            b.setBackground(blend(bg, accent, 0.15));
-            b.setForeground(fg);
-        }
+        fadeThemeTo(themeForRoom(game.getPlayer().getCurrentRoom()), instant ? 0 : FADE_DURATION_MS);
+    }
 
-        currentBg = bg; currentFg = fg; currentAccent = accent; currentTitleBar = titleBar;
-        repaint();
-    }
-
-    private void fadeThemeTo(Color bg, Color fg, Color accent, Color titleBar, int durationMs) {
-        if (durationMs <= 0) { applyColors(bg, fg, accent, titleBar); return; }
-
-        final Color startBg = currentBg, startFg = currentFg, startAc = currentAccent, startTitle = currentTitleBar;
-        final long start = System.currentTimeMillis();
-
-        Timer timer = new Timer(16, null);
-        timer.addActionListener(e -> {
-            float t = (System.currentTimeMillis() - start) / (float) durationMs;
-            if (t >= 1f) { t = 1f; timer.stop(); }
-            Color ibg = blend(startBg, bg, t);
-            Color ifg = blend(startFg, fg, t);
-            Color iac = blend(startAc, accent, t);
-            Color ititle = blend(startTitle, titleBar, t);
-            // Apply tweened colors
-            leftStack.setBackground(ibg);
-            rightSide.setBackground(ibg);
-            storyArea.setBackground(blend(ibg, Color.WHITE, 0.06));
-            storyArea.setForeground(ifg);
-            commandField.setBackground(blend(ibg, Color.WHITE, 0.10));
-            commandField.setForeground(ifg);
-            inventoryList.setBackground(blend(ibg, Color.WHITE, 0.08));
-            inventoryList.setForeground(ifg);
-            hpBar.setBackground(ibg);
-            hpBar.setForeground(iac);
-            invTitleLabel.setBackground(ititle);
-            invTitleLabel.setForeground(ifg);
-
-            currentBg = ibg; currentFg = ifg; currentAccent = iac; currentTitleBar = ititle;
+    /** Fade from the colors currently showing; a new fade replaces one still running. Staying in the same theme costs nothing. */
+    private void fadeThemeTo(Theme target, int durationMs) {
+        if (target == themeTarget) return;
+        themeTarget = target;
+        if (durationMs <= 0 || themeShown[0] < 0) {
+            animator.cancel(THEME_FADE);
+            showTheme(target.rgb);
             repaint();
+            return;
+        }
+
+        System.arraycopy(themeShown, 0, themeFrom, 0, Theme.SLOTS);
+        final long start = System.nanoTime();
+        final long duration = durationMs * 1_000_000L;
+
+        animator.start(THEME_FADE, now -> {
+            float t = Math.min(1f, (now - start) / (float) duration);
+            for (int i = 0; i < Theme.SLOTS; i++) themeFrame[i] = mix(themeFrom[i], target.rgb[i], t);
+            // Each setter repaints its own component; nothing else needs painting
+            showTheme(themeFrame);
+            THEME_FRAME_TIME.recordSince(now);
+            return t < 1f;
         });
-        timer.start();
+    }
+
+    /** Only inner panels get themed. Outer root stays dark. A Color is made only for slots that changed. */
+    private void showTheme(int[] rgb) {
+        for (int i = 0; i < Theme.SLOTS; i++) {
+            if (rgb[i] == themeShown[i]) continue;
+            themeShown[i] = rgb[i];
+            Color c = new Color(rgb[i]);
+            switch (i) {
+                case Theme.BG:
+                    leftStack.setBackground(c);
+                    rightSide.setBackground(c);
+                    hpBar.setBackground(c);
+                    break;
+                case Theme.FG:
+                    storyArea.setForeground(c);
+                    commandField.setForeground(c);
+                    inventoryList.setForeground(c);
+                    invTitleLabel.setForeground(c);
+                    for (JButton b : buttons) b.setForeground(c);
+                    break;
+                case Theme.ACCENT:     hpBar.setForeground(c); break;
+                case Theme.TITLE:      invTitleLabel.setBackground(c); break;
+                case Theme.STORY_BG:   storyArea.setBackground(c); break;
+                case Theme.COMMAND_BG: commandField.setBackground(c); break;
+                case Theme.LIST_BG:    inventoryList.setBackground(c); break;
+                case Theme.BUTTON_BG:  for (JButton b : buttons) b.setBackground(c); break;
+            }
+        }
     }
 
     private void updatePanelBordersAndBackgrounds() {
@@ -567,31 +552,50 @@ public class GameGUI extends JFrame {
     // ======= Scene image handling =======
     private void updateSceneImageForCurrentRoom(boolean instant) {
         Room r = game.getPlayer().getCurrentRoom();
-        String name = r.getClass().getSimpleName().toLowerCase(Locale.ROOT);
-        String filename = IMAGE_DIR + "/" + name + ".png"; // e.g., images/dragonroom.png
-        if (!new File(filename).exists()) {
-            filename = IMAGE_DIR + "/generic.png";
-        }
-        try {
-            BufferedImage img = ImageIO.read(new File(filename));
-            sceneImagePanel.setImage(img, instant ? 0 : FADE_DURATION_MS);
-        } catch (Exception ex) {
-            sceneImagePanel.setImage(null, 0);
+        showScene(sceneAssetFor(r), instant);
+        if (r != prefetchedFor) {
+            // Only the rooms behind this room's exits can be needed next
+            prefetchedFor = r;
+            Set<String> next = new LinkedHashSet<>();
+            for (Direction d : Direction.values()) {
+                Room n = r.getExit(d);
+                if (n != null) next.add(sceneAssetFor(n));
+            }
+            prefetcher.prefetch(next, sceneWidth(), sceneHeight());
         }
     }
 
+    /** Image file for a room type (e.g. images/dragonroom.png), falling back to images/generic.png */
+    private String sceneAssetFor(Room r) {
+        return sceneAssets.computeIfAbsent(r.getClass(), type -> {
+            String filename = IMAGE_DIR + "/" + type.getSimpleName().toLowerCase(Locale.ROOT) + ".png";
+            return images.isMissing(filename) ? IMAGE_DIR + "/generic.png" : filename;
+        });
+    }
+
+    /** Show an asset pre-scaled to the panel; the cache makes repeat visits free of disk I/O and decoding */
+    private void showScene(String path, boolean instant) {
+        scenePath = path;
+        BufferedImage img = (path == null) ? null : images.get(path, sceneWidth(), sceneHeight());
+        sceneImagePanel.setImage(img, (img == null || instant) ? 0 : FADE_DURATION_MS);
+    }
+
+    private int sceneWidth() {
+        return sceneImagePanel.getWidth() > 0 ? sceneImagePanel.getWidth() : sceneImagePanel.getPreferredSize().width;
+    }
+
+    private int sceneHeight() {
+        return sceneImagePanel.getHeight() > 0 ? sceneImagePanel.getHeight() : sceneImagePanel.getPreferredSize().height;
+    }
+
     private void tryLoadImageToLabel(JLabel label, String path) {
-        try {
-            if (new File(path).exists()) {
-                Image img = ImageIO.read(new File(path));
-                label.setIcon(new ImageIcon(img.getScaledInstance(label.getWidth() > 0 ? label.getWidth() : 120,
-                        label.getHeight() > 0 ? label.getHeight() : 120,
-                        Image.SCALE_SMOOTH)));
-            } else {
-                label.setIcon(null);
-            }
-        } catch (Exception ignored) {
+        BufferedImage img = images.get(path, label.getWidth() > 0 ? label.getWidth() : 120,
+                label.getHeight() > 0 ? label.getHeight() : 120);
+        Icon cur = label.getIcon();
+        if (img == null) {
             label.setIcon(null);
+        } else if (!(cur instanceof ImageIcon) || ((ImageIcon) cur).getImage() != img) {
+            label.setIcon(new ImageIcon(img));
         }
     }
 
@@ -601,6 +605,7 @@ public class GameGUI extends JFrame {
                 "Commands you can type:",
                 "  look (describe the room again)",
                 "  north/south/east/west or go (direction)",
+                "  travel <room number>  (walk the shortest safe way there)",
                 "  take <item> (pick up an item)",
                 "  use <item> / drink <item>",
                 "  equip <item> / unequip <item>",
@@ -615,10 +620,12 @@ public class GameGUI extends JFrame {
 
     // ======= Crossfade image panel =======
     private static class CrossfadeImagePanel extends JComponent {
+        private final Animator animator;
         private BufferedImage currentImg;
         private BufferedImage nextImg;
         private float alpha = 0f;
-        private Timer fadeTimer;
+
+        CrossfadeImagePanel(Animator animator) { this.animator = animator; }
 
         @Override
         protected void paintComponent(Graphics g) {
@@ -631,19 +638,27 @@ public class GameGUI extends JFrame {
             g2.fillRect(0,0,w,h);
 
             if (currentImg != null) {
-                g2.drawImage(currentImg, 0, 0, w, h, null);
+                draw(g2, currentImg, w, h);
             }
             if (nextImg != null && alpha > 0f) {
                 Composite old = g2.getComposite();
                 g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
-                g2.drawImage(nextImg, 0, 0, w, h, null);
+                draw(g2, nextImg, w, h);
                 g2.setComposite(old);
             }
             g2.dispose();
         }
 
+        /** Images arrive pre-scaled to the panel, so this is a straight blit except mid-resize */
+        private static void draw(Graphics2D g2, BufferedImage img, int w, int h) {
+            if (img.getWidth() == w && img.getHeight() == h) g2.drawImage(img, 0, 0, null);
+            else g2.drawImage(img, 0, 0, w, h, null);
+        }
+
         void setImage(BufferedImage newImg, int durationMs) {
+            if (newImg != null && (newImg == nextImg || (newImg == currentImg && nextImg == null))) return; // already showing
             if (durationMs <= 0 || currentImg == null) {
+                animator.cancel(this);
                 currentImg = newImg;
                 nextImg = null;
                 alpha = 0f;
@@ -652,22 +667,17 @@ public class GameGUI extends JFrame {
             }
             nextImg = newImg;
             alpha = 0f;
-            if (fadeTimer != null && fadeTimer.isRunning()) fadeTimer.stop();
-            final long start = System.currentTimeMillis();
-            fadeTimer = new Timer(16, e -> {
-                float t = (System.currentTimeMillis() - start) / (float) durationMs;
-                if (t >= 1f) {
-                    t = 1f;
-                    currentImg = nextImg;
-                    nextImg = null;
-                    alpha = 0f;
-                    ((Timer)e.getSource()).stop();
-                } else {
-                    alpha = t;
-                }
-                repaint();
+            final long start = System.nanoTime();
+            final long duration = durationMs * 1_000_000L;
+            animator.start(this, now -> {
+                float t = (now - start) / (float) duration;
+                animator.repaint(this);
+                if (t < 1f) { alpha = t; return true; }
+                currentImg = nextImg;
+                nextImg = null;
+                alpha = 0f;
+                return false;
             });
-            fadeTimer.start();
         }
     }
 }
@@ -1,16 +1,12 @@
 public class GoblinRoom extends GenericRoom {
-    private Enemy enemy;
+    private final Enemy enemy;
 
     public GoblinRoom(String description, Enemy enemy) {
         super(description);
         this.enemy = enemy;
+        on(Verb.SPEAK, (game, arg) -> "You try speaking to the goblin. It snarls back — not very conversational.");
     }
 
+    /** Template stats; the session's live copy comes from World.enemyIn */
     public Enemy getEnemy() { return enemy; }
-
-    public void attackEnemy(int dmg) {
-        if (enemy != null) enemy.takeDamage(dmg);
-    }
-
-    public void removeEnemy() { this.enemy = null; }
 }
@@ -1,9 +1,19 @@
 public class Item {
     private final String name;
     private final String description;
+    private final String key;
+    private final int id;
 
-    public Item(String name, String description) { this.name = name; this.description = description; }
+    public Item(String name, String description) {
+        this.name = name; this.description = description;
+        this.key = ItemIndex.key(name);
+        this.id = ItemIds.intern(name);
+    }
     public String getName() { return name; }
+    /** Normalized name used by ItemIndex lookups */
+    public String getKey() { return key; }
+    /** Interned id shared by every item with this name, or -1 for names the world catalog does not know */
+    public int getId() { return id; }
     public String getDescription() { return description; }
     @Override public String toString() { return name + ": " + description; }
 }
@@ -0,0 +1,56 @@
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns item names to small integer ids, shared by every session.
+ * Ids are handed out as items are created while WorldBuilder builds the template, so the
+ * whole catalog fits in the 64 bits Player uses for its equipment mask. Once the shared template
+ * exists the table is sealed: names seen later (restored or benchmark items) get -1 instead of
+ * growing it, and such items are simply not tracked in the mask.
+ */
+public final class ItemIds {
+    /** Ids below this fit in a long bitmask */
+    public static final int MASK_BITS = 64;
+
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[MASK_BITS];
+    private static int next;
+    private static volatile boolean sealed;
+
+    private ItemIds() {}
+
+    /** Id for this item name (any case), assigning a new one on first sight until sealed, -1 after */
+    public static int intern(String name) {
+        String key = ItemIndex.key(name);
+        Integer id = ids.get(key);
+        return id != null ? id : sealed ? -1 : assign(key, name);
+    }
+
+    /** Called once the shared template is built; from then on no new ids are handed out */
+    static void seal() { sealed = true; }
+
+    private static synchronized int assign(String key, String name) {
+        Integer id = ids.get(key);
+        if (id != null) return id;
+        if (sealed) return -1;
+        int n = next++;
+        if (n >= names.length) names = Arrays.copyOf(names, names.length * 2);
+        names[n] = name;
+        ids.put(key, n);
+        return n;
+    }
+
+    /** Id for a name that has already been interned, or -1 */
+    public static int idOf(String name) {
+        if (name == null) return -1;
+        Integer id = ids.get(ItemIndex.key(name));
+        return id == null ? -1 : id;
+    }
+
+    /** Display name the id was first interned with */
+    public static String name(int id) { return names[id]; }
+
+    /** Mask bit for an id, or 0 when the id does not fit in a long */
+    public static long bit(int id) { return (id >= 0 && id < MASK_BITS) ? 1L << id : 0L; }
+}
@@ -0,0 +1,68 @@
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An ordered bag of items with a case-insensitive name index, used for room contents and the player's inventory.
+ * Lookups, adds and removes are O(1) in the number of items; duplicates (e.g. several Rubies) share one index entry.
+ */
+public class ItemIndex implements Iterable<Item> {
+    private final Set<Item> order = new LinkedHashSet<>();               // display order, identity-based
+    private final Map<String, ArrayDeque<Item>> byName = new HashMap<>();
+    private boolean frozen;
+
+    public ItemIndex() {}
+
+    /** Mutable copy, e.g. a session's own version of a template room's items */
+    public ItemIndex(ItemIndex other) {
+        for (Item it : other) add(it);
+    }
+
+    /** Normalized lookup key for an item name */
+    public static String key(String name) { return name.trim().toLowerCase(Locale.ROOT); }
+
+    public void add(Item it) {
+        checkMutable();
+        if (!order.add(it)) return;
+        byName.computeIfAbsent(it.getKey(), k -> new ArrayDeque<>(1)).addLast(it);
+    }
+
+    public boolean remove(Item it) {
+        checkMutable();
+        if (!order.remove(it)) return false;
+        ArrayDeque<Item> same = byName.get(it.getKey());
+        same.remove(it);
+        if (same.isEmpty()) byName.remove(it.getKey());
+        return true;
+    }
+
+    /** First item with this name (any case), or null */
+    public Item find(String name) {
+        if (name == null) return null;
+        ArrayDeque<Item> same = byName.get(key(name));
+        return same == null ? null : same.peekFirst();
+    }
+
+    public boolean contains(String name) { return find(name) != null; }
+    public int count(String name) {
+        ArrayDeque<Item> same = name == null ? null : byName.get(key(name));
+        return same == null ? 0 : same.size();
+    }
+
+    public int size() { return order.size(); }
+    public boolean isEmpty() { return order.isEmpty(); }
+
+    @Override public Iterator<Item> iterator() { return Collections.unmodifiableSet(order).iterator(); }
+
+    /** Used by WorldTemplate so shared room contents cannot be changed by a session */
+    void freeze() { frozen = true; }
+
+    private void checkMutable() {
+        if (frozen) throw new UnsupportedOperationException("Template items are read-only; change them through World");
+    }
+}
@@ -0,0 +1,79 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency recorder in nanoseconds.
+ * Values land in log-linear buckets (four per power of two), so percentiles are accurate to about 25%
+ * while recording stays a couple of atomic adds from any thread.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 2;
+    private static final int BUCKETS = 64 << SUB_BITS;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    LatencyHistogram(String name) { this.name = name; }
+
+    public String getName() { return name; }
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.incrementAndGet(bucket(nanos));
+        total.increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    /** Convenience for the usual long t0 = System.nanoTime(); ... pattern */
+    public void recordSince(long startNanos) { record(System.nanoTime() - startNanos); }
+
+    public long count() { return total.sum(); }
+    public long maxNanos() { return max.get(); }
+    public long meanNanos() { long n = count(); return n == 0 ? 0 : sum.sum() / n; }
+
+    /** Upper bound of the bucket holding the given percentile (0-100) */
+    public long percentileNanos(double pct) {
+        long n = count();
+        if (n == 0) return 0;
+        long rank = (long) Math.ceil(n * pct / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(upperBound(i), maxNanos());
+        }
+        return maxNanos();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        total.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    /** One-line summary in microseconds */
+    public String summary() {
+        return String.format("%s count=%d p50=%.1fus p99=%.1fus max=%.1fus",
+                name, count(), percentileNanos(50) / 1e3, percentileNanos(99) / 1e3, maxNanos() / 1e3);
+    }
+
+    private static int bucket(long v) {
+        if (v < (1L << SUB_BITS)) return (int) v;
+        int msb = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (msb - SUB_BITS)) & ((1 << SUB_BITS) - 1);
+        return ((msb - SUB_BITS + 1) << SUB_BITS) | sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < (1 << SUB_BITS)) return bucket;
+        int msb = (bucket >>> SUB_BITS) + SUB_BITS - 1;
+        long sub = bucket & ((1 << SUB_BITS) - 1);
+        long lower = (1L << msb) | (sub << (msb - SUB_BITS));
+        return lower + (1L << (msb - SUB_BITS)) - 1;
+    }
+}
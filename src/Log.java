@@ -0,0 +1,125 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Small asynchronous logger for game code.
+ * Callers only drop a line into a lock-free ring buffer; a daemon thread batches the lines to disk.
+ * When the ring is full new lines are dropped (and counted) rather than stalling a command.
+ *
+ * Configure with -Dgandor.log.level=DEBUG|INFO|WARN|ERROR|OFF (default INFO)
+ * and -Dgandor.log.file=path (default logs/game.log, "-" for stdout).
+ *
+ * Guard messages that need building: if (Log.isDebug()) Log.debug("Picked up " + name);
+ */
+public final class Log {
+
+    public enum Level { DEBUG, INFO, WARN, ERROR, OFF }
+
+    private static final int CAPACITY = 8192;                 // power of two
+    private static final int MASK = CAPACITY - 1;
+    private static final long FLUSH_INTERVAL_NANOS = 50_000_000L;
+
+    private static final AtomicReferenceArray<String> ring = new AtomicReferenceArray<>(CAPACITY);
+    private static final AtomicLong claimed = new AtomicLong();  // next slot a producer may take
+    private static final AtomicLong dropped = new AtomicLong();
+    private static volatile long consumed;                       // next slot the writer will read
+
+    private static volatile Level level = parseLevel(System.getProperty("gandor.log.level", "INFO"));
+    private static final String target = System.getProperty("gandor.log.file", "logs/game.log");
+    private static Writer out;                                   // opened lazily by the writer thread
+
+    static {
+        Thread writer = new Thread(Log::writerLoop, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::flushNow, "log-flush"));
+    }
+
+    private Log() {}
+
+    public static Level getLevel() { return level; }
+    public static void setLevel(Level l) { level = l; }
+
+    public static boolean isEnabled(Level l) { return l.compareTo(level) >= 0 && l != Level.OFF; }
+    public static boolean isDebug() { return level == Level.DEBUG; }
+
+    public static void debug(String msg) { if (level == Level.DEBUG) enqueue("[DEBUG] ", msg); }
+    public static void info(String msg)  { if (isEnabled(Level.INFO)) enqueue("[INFO] ", msg); }
+    public static void warn(String msg)  { if (isEnabled(Level.WARN)) enqueue("[WARN] ", msg); }
+    public static void error(String msg) { if (isEnabled(Level.ERROR)) enqueue("[ERROR] ", msg); }
+
+    /** Lines lost because the ring was full */
+    public static long droppedCount() { return dropped.get(); }
+
+    private static void enqueue(String prefix, String msg) {
+        String line = prefix + msg;
+        while (true) {
+            long seq = claimed.get();
+            if (seq - consumed >= CAPACITY) { dropped.incrementAndGet(); return; }
+            if (claimed.compareAndSet(seq, seq + 1)) {
+                ring.set((int) seq & MASK, line);
+                return;
+            }
+        }
+    }
+
+    // ======= Writer thread =======
+    private static void writerLoop() {
+        while (true) {
+            flushNow();
+            LockSupport.parkNanos(FLUSH_INTERVAL_NANOS);
+        }
+    }
+
+    /** Drain everything published so far as one batch */
+    private static synchronized void flushNow() {
+        long seq = consumed;
+        if (seq == claimed.get()) return;
+        try {
+            Writer w = open();
+            while (seq < claimed.get()) {
+                int slot = (int) seq & MASK;
+                String line = ring.get(slot);
+                if (line == null) break;             // claimed but not yet written; pick it up next batch
+                ring.set(slot, null);
+                seq++;
+                consumed = seq;
+                w.write(line);
+                w.write('\n');
+            }
+            w.flush();
+        } catch (IOException e) {
+            // Nowhere to write: discard what was published rather than fill up
+            for (long end = claimed.get(); seq < end; seq++) ring.set((int) seq & MASK, null);
+            consumed = seq;
+        }
+    }
+
+    private static Writer open() throws IOException {
+        if (out != null) return out;
+        if ("-".equals(target)) {
+            out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        } else {
+            Path p = Paths.get(target);
+            if (p.getParent() != null) Files.createDirectories(p.getParent());
+            out = Files.newBufferedWriter(p, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        return out;
+    }
+
+    private static Level parseLevel(String s) {
+        try { return Level.valueOf(s.trim().toUpperCase(Locale.ROOT)); }
+        catch (IllegalArgumentException e) { return Level.INFO; }
+    }
+}
@@ -4,7 +4,9 @@ public class Main {
     public static void main(String[] args) {
         // Use system look and feel then apply dark tweaks in GUI
         SwingUtilities.invokeLater(() -> {
-            Game game = new Game();
+            // Resume the last session if there is one worth resuming
+            Game game = CommandJournal.recover(CommandJournal.defaultSnapshot(), CommandJournal.defaultJournal());
+            if (!game.getPlayer().isAlive()) game = new Game();
             new GameGUI(game);
         });
     }
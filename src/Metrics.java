@@ -0,0 +1,99 @@
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide instrumentation: named latency histograms, counters and cache hit ratios.
+ * Recorders are created once (usually into static final fields) and are lock-free to update.
+ * Everything is visible over JMX as gandor:type=Metrics and, with -Dgandor.metrics.dumpSeconds=N,
+ * written to the Log every N seconds.
+ */
+public final class Metrics implements MetricsMXBean {
+
+    /** Hit/miss pair for one cache */
+    public static final class CacheStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        public void hit() { hits.increment(); }
+        public void miss() { misses.increment(); }
+        public long hits() { return hits.sum(); }
+        public long misses() { return misses.sum(); }
+        public double ratio() { long h = hits(), n = h + misses(); return n == 0 ? 0 : (double) h / n; }
+        void reset() { hits.reset(); misses.reset(); }
+    }
+
+    private static final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private static final Map<String, CacheStats> caches = new ConcurrentHashMap<>();
+    private static final Metrics INSTANCE = new Metrics();
+
+    static {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName("gandor:type=Metrics"));
+        } catch (Exception e) {
+            Log.warn("Metrics MBean not registered: " + e);
+        }
+        long every = Long.getLong("gandor.metrics.dumpSeconds", 0L);
+        if (every > 0) {
+            ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "metrics-dump");
+                t.setDaemon(true);
+                return t;
+            });
+            dumper.scheduleAtFixedRate(() -> Log.info(report()), every, every, TimeUnit.SECONDS);
+        }
+    }
+
+    private Metrics() {}
+
+    public static LatencyHistogram latency(String name) { return latencies.computeIfAbsent(name, LatencyHistogram::new); }
+    public static CacheStats cache(String name) { return caches.computeIfAbsent(name, n -> new CacheStats()); }
+
+    /** Multi-line text summary of every recorder, sorted by name */
+    public static String report() {
+        StringBuilder sb = new StringBuilder("Metrics:");
+        for (LatencyHistogram h : new TreeMap<>(latencies).values()) {
+            if (h.count() > 0) sb.append("\n  ").append(h.summary());
+        }
+        for (Map.Entry<String, CacheStats> e : new TreeMap<>(caches).entrySet()) {
+            CacheStats c = e.getValue();
+            sb.append(String.format("%n  %s hits=%d misses=%d ratio=%.3f", e.getKey(), c.hits(), c.misses(), c.ratio()));
+        }
+        return sb.toString();
+    }
+
+    // ======= MXBean =======
+    @Override public Map<String, Long> getCounts() {
+        Map<String, Long> out = new TreeMap<>();
+        latencies.forEach((k, h) -> out.put(k, h.count()));
+        return out;
+    }
+    @Override public Map<String, Long> getP50Micros() { return percentiles(50); }
+    @Override public Map<String, Long> getP99Micros() { return percentiles(99); }
+    @Override public Map<String, Long> getMaxMicros() {
+        Map<String, Long> out = new TreeMap<>();
+        latencies.forEach((k, h) -> out.put(k, h.maxNanos() / 1000));
+        return out;
+    }
+    @Override public Map<String, Double> getHitRatios() {
+        Map<String, Double> out = new TreeMap<>();
+        caches.forEach((k, c) -> out.put(k, c.ratio()));
+        return out;
+    }
+    @Override public String getReport() { return report(); }
+    @Override public void reset() {
+        latencies.values().forEach(LatencyHistogram::reset);
+        caches.values().forEach(CacheStats::reset);
+    }
+
+    private static Map<String, Long> percentiles(double pct) {
+        Map<String, Long> out = new TreeMap<>();
+        latencies.forEach((k, h) -> out.put(k, h.percentileNanos(pct) / 1000));
+        return out;
+    }
+}
@@ -0,0 +1,15 @@
+import java.util.Map;
+
+/** JMX view of Metrics, registered as gandor:type=Metrics */
+public interface MetricsMXBean {
+    /** Number of samples per recorder (commands, image loads, ...) */
+    Map<String, Long> getCounts();
+    Map<String, Long> getP50Micros();
+    Map<String, Long> getP99Micros();
+    Map<String, Long> getMaxMicros();
+    /** Hit ratio (0-1) per cache */
+    Map<String, Double> getHitRatios();
+    /** Same text as the periodic dump */
+    String getReport();
+    void reset();
+}
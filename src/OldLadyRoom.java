@@ -1,3 +1,6 @@
 public class OldLadyRoom extends Room {
-    public OldLadyRoom(String description) { super(description); }
+    public OldLadyRoom(String description) {
+        super(description);
+        on(Verb.SPEAK, (game, arg) -> "You greet the old lady. She eyes you kindly and mutters about 'paths hidden in plain sight.'");
+    }
 }
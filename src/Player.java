@@ -1,37 +1,66 @@
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Set;
 
 public class Player {
     private Room currentRoom;
     private int health = 100;
+    // Equipment slots; everything worn or wielded is also a bit in the mask below
     private Weapon equippedWeapon;
     private Armor equippedArmor;
-    private final List<Item> inventory = new ArrayList<>();
-    private final Set<String> equipped = new HashSet<>(); // track equipped items by name (Shoes, Climbing Shoes, etc.)
+    private final ItemIndex inventory = new ItemIndex();
+    private long equippedMask;   // one bit per interned item id (see ItemIds)
+    private BitSet overflow;     // ids past the mask, only if the item catalog ever outgrows 64 names
+    // Exploration, for the World Map
+    private static final int DIRS = Direction.values().length;
+    private final BitSet visited = new BitSet();      // room ids stood in
+    private final BitSet traversed = new BitSet();    // exits taken, as roomId * DIRS + direction
 
     public Player() {
         // Start with basic shoes equipped
         Item shoes = new Item("Shoes", "Basic leather shoes (starting gear).");
         inventory.add(shoes);
-        equipped.add("Shoes");
-        System.out.println("[DEBUG] Player starts with Shoes equipped.");
+        equip(shoes.getId());
+        Log.debug("Player starts with Shoes equipped.");
     }
 
-    public void setCurrentRoom(Room room) { this.currentRoom = room; }
+    /** Restore-time only: no starting gear, SaveGame fills in the rest */
+    Player(int health) { this.health = health; }
+
+    public void setCurrentRoom(Room room) { this.currentRoom = room; visited.set(room.getId()); }
     public Room getCurrentRoom() { return currentRoom; }
 
+    /** Go through an exit of the current room, recording the exit as explored */
+    public void walk(Direction dir, Room next) {
+        traversed.set(currentRoom.getId() * DIRS + dir.ordinal());
+        setCurrentRoom(next);
+    }
+    public boolean hasVisited(Room r) { return visited.get(r.getId()); }
+    public boolean hasTraversed(Room from, Direction dir) { return traversed.get(from.getId() * DIRS + dir.ordinal()); }
+    /** Live exploration sets, read by the map and SaveGame */
+    BitSet visitedRooms() { return visited; }
+    BitSet traversedExits() { return traversed; }
+
     public int getHealth() { return health; }
     public void heal(int amount) { health += amount; if (health > 100) health = 100; }
     public void takeDamage(int dmg) { health -= dmg; if (health < 0) health = 0; }
     public boolean isAlive() { return health > 0; }
 
-    public List<Item> getInventory() { return inventory; }
+    public ItemIndex getInventory() { return inventory; }
+    public boolean hasItem(String name) { return inventory.contains(name); }
 
-    public void equipWeapon(Weapon w) { this.equippedWeapon = w; equipped.add(w.getName()); }
-    public void equipArmor(Armor a) { this.equippedArmor = a; equipped.add(a.getName()); }
+    /** Equipping into a slot replaces whatever was there */
+    public void equipWeapon(Weapon w) {
+        if (equippedWeapon != null) unequip(equippedWeapon.getId());
+        this.equippedWeapon = w;
+        equip(w.getId());
+    }
+    public void equipArmor(Armor a) {
+        if (equippedArmor != null) unequip(equippedArmor.getId());
+        this.equippedArmor = a;
+        equip(a.getId());
+    }
 
     public Weapon getEquippedWeapon() { return equippedWeapon; }
     public Armor getEquippedArmor() { return equippedArmor; }
@@ -40,22 +69,62 @@ public class Player {
         return (equippedWeapon != null) ? equippedWeapon.getDamage() : 3;
     }
 
-    // Generic equip/unequip by name marker
-    public void equipByName(String name) { equipped.add(name); }
+    // Generic equip/unequip for items without a slot (Shoes, Climbing Shoes, Grappling Hook)
+    public void equipItem(Item it) { equip(it.getId()); }
+    public void equipByName(String name) { equip(ItemIds.idOf(name)); }
     public void unequipByName(String name) {
-        equipped.remove(name);
-        if (equippedWeapon != null && equippedWeapon.getName().equalsIgnoreCase(name)) equippedWeapon = null;
-        if (equippedArmor  != null && equippedArmor.getName().equalsIgnoreCase(name)) equippedArmor = null;
+        int id = ItemIds.idOf(name);
+        if (id < 0) return;
+        unequip(id);
+        if (equippedWeapon != null && equippedWeapon.getId() == id) equippedWeapon = null;
+        if (equippedArmor  != null && equippedArmor.getId() == id) equippedArmor = null;
     }
-    public boolean isEquipped(String name) {
-        for (String s : equipped) if (s.equalsIgnoreCase(name)) return true;
-        return false;
+    public boolean isEquipped(String name) { return isEquipped(ItemIds.idOf(name)); }
+    public boolean isEquipped(int id) {
+        if (id < 0) return false;
+        if (id < ItemIds.MASK_BITS) return (equippedMask & (1L << id)) != 0;
+        return overflow != null && overflow.get(id);
     }
 
+    /** Bitmask of equipped item ids, for single-test gear checks such as ClimbRoom.canClimb */
+    public long gearMask() { return equippedMask; }
+
     public String equippedSummary() {
-        if (equipped.isEmpty()) return "You are not wearing or wielding anything.";
-        StringBuilder sb = new StringBuilder("You are wearing/wielding:\n");
-        for (String s : equipped) sb.append("- ").append(s).append("\n");
-        return sb.toString().trim();
+        boolean offCatalog = (equippedWeapon != null && equippedWeapon.getId() < 0) || (equippedArmor != null && equippedArmor.getId() < 0);
+        if (equippedMask == 0 && (overflow == null || overflow.isEmpty()) && !offCatalog) return "You are not wearing or wielding anything.";
+        StringBuilder sb = new StringBuilder("You are wearing/wielding:");
+        // Slot items without an id are not in the mask
+        if (equippedWeapon != null && equippedWeapon.getId() < 0) sb.append("\n- ").append(equippedWeapon.getName());
+        if (equippedArmor != null && equippedArmor.getId() < 0) sb.append("\n- ").append(equippedArmor.getName());
+        for (long m = equippedMask; m != 0; m &= m - 1) {
+            sb.append("\n- ").append(ItemIds.name(Long.numberOfTrailingZeros(m)));
+        }
+        if (overflow != null) {
+            for (int id = overflow.nextSetBit(0); id >= 0; id = overflow.nextSetBit(id + 1)) sb.append("\n- ").append(ItemIds.name(id));
+        }
+        return sb.toString();
+    }
+
+    /** Names of everything equipped, for SaveGame */
+    List<String> equippedNames() {
+        List<String> out = new ArrayList<>();
+        for (long m = equippedMask; m != 0; m &= m - 1) out.add(ItemIds.name(Long.numberOfTrailingZeros(m)));
+        if (overflow != null) {
+            for (int id = overflow.nextSetBit(0); id >= 0; id = overflow.nextSetBit(id + 1)) out.add(ItemIds.name(id));
+        }
+        return out;
+    }
+
+    private void equip(int id) {
+        if (id < 0) return;         // not a catalog item; weapon and armor slots still hold it
+        if (id < ItemIds.MASK_BITS) { equippedMask |= 1L << id; return; }
+        if (overflow == null) overflow = new BitSet();
+        overflow.set(id);
+    }
+
+    private void unequip(int id) {
+        if (id < 0) return;
+        if (id < ItemIds.MASK_BITS) { equippedMask &= ~(1L << id); return; }
+        if (overflow != null) overflow.clear(id);
     }
 }
@@ -1,32 +1,59 @@
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.EnumMap;
 import java.util.Map;
 
+/**
+ * A node of the shared WorldTemplate. Rooms are read-only once built;
+ * anything a player changes (items taken, enemies beaten) is tracked by their World.
+ */
 public abstract class Room {
+    private int id;
+    private WorldTemplate graph;
     protected String description;
-    protected final Map<String, Room> exits = new HashMap<>();
-    protected final List<Item> items = new ArrayList<>();
+    protected final ItemIndex items = new ItemIndex();
+    private Map<Verb, CommandHandler> handlers;     // null until a subclass registers one
 
     public Room(String description) { this.description = description; }
 
-    public String getDescription() {
-        StringBuilder sb = new StringBuilder(description);
-        if (!items.isEmpty()) {
-            sb.append("\nItems: ");
-            for (Item i : items) sb.append(i.getName()).append(", ");
-            sb.setLength(sb.length() - 2);
-        }
-        return sb.toString();
-    }
+    void attach(int id, WorldTemplate graph) { this.id = id; this.graph = graph; }
+    public int getId() { return id; }
+
+    public String getDescription() { return description; }
 
+    /** Builder-time only: starting items of this room */
     public void addItem(Item it) { items.add(it); }
-    public List<Item> getItems() { return items; }
-    public void setExit(String dir, Room room) { exits.put(dir, room); }
-    public Room getExit(String dir) { return exits.get(dir); }
+    /** Starting items; read-only once the template is frozen */
+    public ItemIndex getItems() { return items; }
 
+    /** Constructor-time only: handle a verb specially while the player is in this room */
+    protected void on(Verb verb, CommandHandler handler) {
+        if (handlers == null) handlers = new EnumMap<>(Verb.class);
+        handlers.put(verb, handler);
+    }
+    /** This room's own handler for the verb, or null to use the game's */
+    public CommandHandler handlerFor(Verb verb) { return handlers == null ? null : handlers.get(verb); }
 
-    public Map<String, Room> getExits() {
-        return exits;
+    /** Builder-time only: both rooms must already be registered with the same template */
+    public void setExit(Direction dir, Room room) { graph.link(id, dir, room.getId()); }
+    public void setExit(String dir, Room room) {
+        Direction d = Direction.parse(dir);
+        if (d == null) throw new IllegalArgumentException("Unknown direction: " + dir);
+        setExit(d, room);
+    }
+
+    public Room getExit(Direction dir) { return graph.exit(id, dir); }
+    public Room getExit(String dir) {
+        Direction d = Direction.parse(dir);
+        return d == null ? null : getExit(d);
+    }
+    public boolean hasExit(Direction dir) { return graph.exitId(id, dir) != WorldTemplate.NO_ROOM; }
+
+    /** Snapshot of the exits in compass order */
+    public Map<Direction, Room> getExits() {
+        Map<Direction, Room> out = new EnumMap<>(Direction.class);
+        for (Direction d : Direction.values()) {
+            Room r = getExit(d);
+            if (r != null) out.put(d, r);
+        }
+        return out;
     }
 }
@@ -0,0 +1,74 @@
+import java.util.Arrays;
+
+/**
+ * Shortest routes between every pair of rooms, precomputed once per WorldTemplate.
+ * Whether an exit can be taken depends on what the player has: a ClimbRoom needs shoes and/or a
+ * grappling hook, and the castle gate off room 29 needs the Emerald Key. So the BFS runs over
+ * (room, gear) states, one next-hop table for each of the eight gear combinations; gear does not
+ * change along a route, so a route is read by following next hops in the player's table.
+ */
+final class RouteTable {
+    static final int SHOES = 1, HOOK = 2, KEY = 4;
+    private static final int GEAR_STATES = 8;
+    private static final byte NONE = -1;
+
+    private final WorldTemplate template;
+    private final int size;                  // room ids run below this
+    private final byte[][] nextHop;          // [gear][from * size + to] = Direction ordinal of the first step
+
+    RouteTable(WorldTemplate t) {
+        template = t;
+        size = t.maxId() + 1;
+        nextHop = new byte[GEAR_STATES][size * size];
+        int[] queue = new int[size];
+        for (int gear = 0; gear < GEAR_STATES; gear++) {
+            byte[] hops = nextHop[gear];
+            Arrays.fill(hops, NONE);
+            for (int from = 1; from < size; from++) {
+                if (t.getRoom(from) == null) continue;
+                // BFS from 'from', carrying along the direction each room was first reached by
+                int base = from * size, head = 0, tail = 0;
+                queue[tail++] = from;
+                while (head < tail) {
+                    int at = queue[head++];
+                    for (Direction d : Direction.values()) {
+                        int to = t.exitId(at, d);
+                        if (to == WorldTemplate.NO_ROOM || to == from || hops[base + to] != NONE) continue;
+                        if (!passable(t, at, to, gear)) continue;
+                        hops[base + to] = at == from ? (byte) d.ordinal() : hops[base + at];
+                        queue[tail++] = to;
+                    }
+                }
+            }
+        }
+    }
+
+    /** Same rules Game.move applies: climbing gear for ClimbRooms, the key for the castle gate */
+    private static boolean passable(WorldTemplate t, int from, int to, int gear) {
+        Room next = t.getRoom(to);
+        if (next instanceof ClimbRoom && !((ClimbRoom) next).canClimb((gear & SHOES) != 0, (gear & HOOK) != 0)) return false;
+        if (from == 29 && next == t.getCastleRoom(1) && (gear & KEY) == 0) return false;
+        return true;
+    }
+
+    /** The player's gear state for route lookups */
+    static int gear(Player p) {
+        long mask = p.gearMask();
+        return (ClimbRoom.hasShoes(mask) ? SHOES : 0) | (ClimbRoom.hasHook(mask) ? HOOK : 0)
+                | (p.hasItem("Emerald Key") ? KEY : 0);
+    }
+
+    /** Directions of a shortest safe route, empty if from == to, or null if there is none with this gear */
+    Direction[] route(int gear, int from, int to) {
+        if (from == to) return new Direction[0];
+        if (from <= 0 || to <= 0 || from >= size || to >= size || nextHop[gear][from * size + to] == NONE) return null;
+        int n = 0;
+        for (int at = from; at != to; at = step(gear, at, to)) n++;
+        Direction[] out = new Direction[n];
+        int i = 0;
+        for (int at = from; at != to; at = step(gear, at, to)) out[i++] = Direction.byOrdinal(nextHop[gear][at * size + to]);
+        return out;
+    }
+
+    private int step(int gear, int at, int to) { return template.exitId(at, Direction.byOrdinal(nextHop[gear][at * size + to])); }
+}
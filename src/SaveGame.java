@@ -0,0 +1,214 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary snapshot of a session: the player plus the World's deltas from the shared template.
+ * Starting items are written as their index in the template's item catalog; anything else
+ * (e.g. the player's starting Shoes) is written out in full. Equipped gear is stored by name,
+ * since interned item ids are only stable within one run.
+ *
+ * Layout (big-endian):
+ *   int magic 'GSAV', short version, int catalogHash
+ *   player: int health, int roomId, item weapon, item armor, int n, n x item, short m, m x utf equippedName
+ *   world:  int n, n x { int roomId, int k, k x item }, int n, n x { int roomId, int health },
+ *           bits defeated, bits solved
+ *   explored: bits visited rooms, bits traversed exits (roomId * 4 + direction)
+ *   item:   int ref >= 0 | NONE | INLINE byte kind, utf name, utf description, int stat
+ *   bits:   int n, n x long (BitSet.toLongArray)
+ */
+public final class SaveGame {
+    static final int MAGIC = 0x47534156;   // "GSAV"
+    static final int VERSION = 2;
+
+    private static final int NONE = -1, INLINE = -2;
+    private static final byte PLAIN = 0, WEAPON = 1, ARMOR = 2, POTION = 3;
+
+    private static final LatencyHistogram CAPTURE_TIME = Metrics.latency("save.capture");
+    private static final LatencyHistogram RESTORE_TIME = Metrics.latency("save.restore");
+
+    private SaveGame() {}
+
+    /** Snapshot the session; call on the thread that runs commands so the state is consistent */
+    public static byte[] capture(Game game) {
+        long t0 = System.nanoTime();
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+            DataOutputStream out = new DataOutputStream(bytes);
+            World world = game.getWorld();
+            WorldTemplate template = world.getTemplate();
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(template.catalogHash());
+
+            Player p = game.getPlayer();
+            out.writeInt(p.getHealth());
+            out.writeInt(p.getCurrentRoom().getId());
+            writeItem(out, p.getEquippedWeapon(), template);
+            writeItem(out, p.getEquippedArmor(), template);
+            out.writeInt(p.getInventory().size());
+            for (Item it : p.getInventory()) writeItem(out, it, template);
+            List<String> gear = p.equippedNames();
+            out.writeShort(gear.size());
+            for (String name : gear) out.writeUTF(name);
+
+            Map<Integer, ItemIndex> items = world.changedItems();
+            out.writeInt(items.size());
+            for (Map.Entry<Integer, ItemIndex> e : items.entrySet()) {
+                out.writeInt(e.getKey());
+                out.writeInt(e.getValue().size());
+                for (Item it : e.getValue()) writeItem(out, it, template);
+            }
+            Map<Integer, Enemy> enemies = world.foughtEnemies();
+            out.writeInt(enemies.size());
+            for (Map.Entry<Integer, Enemy> e : enemies.entrySet()) {
+                out.writeInt(e.getKey());
+                out.writeInt(e.getValue().getHealth());
+            }
+            writeBits(out, world.defeatedRooms());
+            writeBits(out, world.solvedRooms());
+            writeBits(out, p.visitedRooms());
+            writeBits(out, p.traversedExits());
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);      // in-memory stream
+        } finally {
+            CAPTURE_TIME.recordSince(t0);
+        }
+    }
+
+    /** Rebuild a session from capture() output; throws IOException if the data is not a save for this build */
+    public static Game restore(byte[] data) throws IOException {
+        long t0 = System.nanoTime();
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            if (in.readInt() != MAGIC) throw new IOException("Not a save file");
+            int version = in.readShort();
+            if (version != VERSION) throw new IOException("Unsupported save version " + version);
+            World world = WorldBuilder.createWorld();
+            WorldTemplate template = world.getTemplate();
+            if (in.readInt() != template.catalogHash()) throw new IOException("Save is from a different world");
+
+            Player p = new Player(in.readInt());
+            p.setCurrentRoom(room(template, in.readInt()));
+            Item weapon = readItem(in, template), armor = readItem(in, template);
+            if (weapon instanceof Weapon) p.equipWeapon((Weapon) weapon);
+            if (armor instanceof Armor) p.equipArmor((Armor) armor);
+            for (int i = in.readInt(); i > 0; i--) p.getInventory().add(readItem(in, template));
+            for (int i = in.readShort(); i > 0; i--) p.equipByName(in.readUTF());
+
+            for (int i = in.readInt(); i > 0; i--) {
+                int roomId = in.readInt();
+                room(template, roomId);
+                ItemIndex contents = new ItemIndex();
+                for (int k = in.readInt(); k > 0; k--) contents.add(readItem(in, template));
+                world.restoreItems(roomId, contents);
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                Room r = room(template, in.readInt());
+                world.restoreEnemy(r, in.readInt());
+            }
+            int rooms = template.maxId() + 1;
+            world.defeatedRooms().or(readBits(in, rooms));
+            world.solvedRooms().or(readBits(in, rooms));
+            p.visitedRooms().or(readBits(in, rooms));
+            p.traversedExits().or(readBits(in, rooms * 4));
+            return new Game(p, world);
+        } finally {
+            RESTORE_TIME.recordSince(t0);
+        }
+    }
+
+    /** Atomically replace file with data, forced to disk before the rename */
+    public static void write(Path file, byte[] data) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer b = ByteBuffer.wrap(data);
+            while (b.hasRemaining()) ch.write(b);
+            ch.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** The saved session, or null if there is no save or it cannot be used */
+    public static Game load(Path file) {
+        if (!Files.isRegularFile(file)) return null;
+        try {
+            return restore(Files.readAllBytes(file));
+        } catch (IOException | RuntimeException e) {
+            Log.warn("Ignoring save " + file + ": " + e);
+            return null;
+        }
+    }
+
+    private static void writeItem(DataOutputStream out, Item it, WorldTemplate template) throws IOException {
+        if (it == null) { out.writeInt(NONE); return; }
+        int ref = template.itemRef(it);
+        if (ref >= 0) { out.writeInt(ref); return; }
+        out.writeInt(INLINE);
+        if (it instanceof Weapon)             { out.writeByte(WEAPON); }
+        else if (it instanceof Armor)         { out.writeByte(ARMOR); }
+        else if (it instanceof HealingPotion) { out.writeByte(POTION); }
+        else                                  { out.writeByte(PLAIN); }
+        out.writeUTF(it.getName());
+        out.writeUTF(it.getDescription());
+        if (it instanceof Weapon)             out.writeInt(((Weapon) it).getDamage());
+        else if (it instanceof Armor)         out.writeInt(((Armor) it).getDefense());
+        else if (it instanceof HealingPotion) out.writeInt(((HealingPotion) it).getHealAmount());
+        else                                  out.writeInt(0);
+    }
+
+    private static Item readItem(DataInputStream in, WorldTemplate template) throws IOException {
+        int ref = in.readInt();
+        if (ref == NONE) return null;
+        if (ref >= 0) {
+            if (ref >= template.catalogSize()) throw new IOException("Bad item reference " + ref);
+            return template.itemAt(ref);
+        }
+        if (ref != INLINE) throw new IOException("Bad item tag " + ref);
+        byte kind = in.readByte();
+        String name = in.readUTF(), description = in.readUTF();
+        int stat = in.readInt();
+        switch (kind) {
+            case WEAPON: return new Weapon(name, description, stat);
+            case ARMOR:  return new Armor(name, description, stat);
+            case POTION: return new HealingPotion(name, description, stat);
+            default:     return new Item(name, description);
+        }
+    }
+
+    private static void writeBits(DataOutputStream out, BitSet bits) throws IOException {
+        long[] words = bits.toLongArray();
+        out.writeInt(words.length);
+        for (long w : words) out.writeLong(w);
+    }
+
+    /** A BitSet written by writeBits, rejected if it has more words than maxBits can fill */
+    private static BitSet readBits(DataInputStream in, int maxBits) throws IOException {
+        int n = in.readInt();
+        if (n < 0 || n > (maxBits + 63) / 64) throw new IOException("Bad bit set length " + n);
+        long[] words = new long[n];
+        for (int i = 0; i < words.length; i++) words[i] = in.readLong();
+        return BitSet.valueOf(words);
+    }
+
+    private static Room room(WorldTemplate template, int id) throws IOException {
+        Room r = template.getRoom(id);
+        if (r == null) throw new IOException("Bad room id " + id);
+        return r;
+    }
+}
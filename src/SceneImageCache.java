@@ -0,0 +1,169 @@
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.imageio.ImageIO;
+
+/**
+ * Decoded, display-ready images keyed by asset path and target size.
+ * Holds both the decoded original (size 0x0) and scaled copies, evicting least-recently-used
+ * entries once the pixel bytes exceed the budget. Missing files are remembered too,
+ * so asking for an absent asset after the first time costs no disk access.
+ * Safe to call from any thread; decoding and scaling happen outside the lock, and a thread asking for
+ * an image another thread is already loading (e.g. ScenePrefetcher) waits for that load instead of repeating it.
+ * With an AssetPack, images come from its pre-decoded pixels and files are only decoded for assets it lacks.
+ */
+public final class SceneImageCache {
+    private static final LatencyHistogram LOAD_TIME  = Metrics.latency("gui.image.load");
+    private static final LatencyHistogram SCALE_TIME = Metrics.latency("gui.image.scale");
+    private static final LatencyHistogram UNPACK_TIME = Metrics.latency("gui.image.unpack");
+    private static final Metrics.CacheStats STATS    = Metrics.cache("gui.image");
+
+    private static final class Key {
+        final String path; final int w, h;
+        Key(String path, int w, int h) { this.path = path; this.w = w; this.h = h; }
+        @Override public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return w == k.w && h == k.h && path.equals(k.path);
+        }
+        @Override public int hashCode() { return Objects.hash(path, w, h); }
+    }
+
+    private final long budgetBytes;
+    private final AssetPack pack;       // may be null
+    private final LinkedHashMap<Key, BufferedImage> lru = new LinkedHashMap<>(32, 0.75f, true);
+    private final Set<String> missing = ConcurrentHashMap.newKeySet();
+    private final Map<Key, CompletableFuture<BufferedImage>> loading = new ConcurrentHashMap<>();
+    private long bytes;
+
+    public SceneImageCache(long budgetBytes) { this(budgetBytes, null); }
+    public SceneImageCache(long budgetBytes, AssetPack pack) { this.budgetBytes = budgetBytes; this.pack = pack; }
+
+    /** True if the asset is known to be absent or unreadable */
+    public boolean isMissing(String path) {
+        if (missing.contains(path)) return true;
+        if (pack != null && pack.contains(path)) return false;
+        if (new File(path).isFile()) return false;
+        missing.add(path);
+        return true;
+    }
+
+    /** The image scaled to w x h (0 x 0 for the original), or null if the asset does not exist */
+    public BufferedImage get(String path, int w, int h) {
+        if (missing.contains(path)) return null;
+        Key key = new Key(path, w, h);
+        BufferedImage img = lookup(key);
+        if (img != null) { STATS.hit(); return img; }
+        STATS.miss();
+
+        CompletableFuture<BufferedImage> mine = new CompletableFuture<>();
+        CompletableFuture<BufferedImage> other = loading.putIfAbsent(key, mine);
+        if (other != null) return other.join();
+        try {
+            img = lookup(key);                       // finished between our miss and claiming the load
+            if (img == null) {
+                img = load(path, w, h);
+                if (img != null) store(key, img);
+            }
+            mine.complete(img);
+            return img;
+        } catch (RuntimeException e) {
+            mine.complete(null);
+            throw e;
+        } finally {
+            loading.remove(key);
+        }
+    }
+
+    private BufferedImage load(String path, int w, int h) {
+        if (pack != null && pack.contains(path)) {
+            long t0 = System.nanoTime();
+            BufferedImage packed = (w <= 0 || h <= 0) ? pack.largest(path) : pack.image(path, w, h);
+            UNPACK_TIME.recordSince(t0);
+            if (packed != null) return packed;
+            if (w > 0 && h > 0) {
+                // Not packed at this size: scale once from the nearest packed size; get() caches the result as (path, w, h)
+                int[] near = pack.nearestSize(path, w, h);
+                BufferedImage src = get(path, near[0], near[1]);
+                if (src != null) return scale(src, w, h);
+            }
+        }
+        if (w <= 0 || h <= 0) return decode(path);
+        BufferedImage src = get(path, 0, 0);
+        return src == null ? null : scale(src, w, h);
+    }
+
+    /** Already-cached image or null; never touches disk */
+    public BufferedImage peek(String path, int w, int h) { return lookup(new Key(path, w, h)); }
+
+    public synchronized long sizeBytes() { return bytes; }
+
+    private synchronized BufferedImage lookup(Key key) { return lru.get(key); }
+
+    private synchronized void store(Key key, BufferedImage img) {
+        BufferedImage old = lru.put(key, img);
+        if (old != null) bytes -= sizeOf(old);
+        bytes += sizeOf(img);
+        for (Iterator<Map.Entry<Key, BufferedImage>> it = lru.entrySet().iterator(); bytes > budgetBytes && it.hasNext(); ) {
+            Map.Entry<Key, BufferedImage> e = it.next();
+            if (e.getKey().equals(key)) continue;   // keep what was just asked for
+            bytes -= sizeOf(e.getValue());
+            it.remove();
+        }
+    }
+
+    private BufferedImage decode(String path) {
+        long t0 = System.nanoTime();
+        try {
+            File f = new File(path);
+            BufferedImage raw = f.isFile() ? ImageIO.read(f) : null;
+            if (raw == null) { missing.add(path); return null; }
+            return toCompatible(raw, raw.getWidth(), raw.getHeight());
+        } catch (Exception e) {
+            Log.warn("Could not read image " + path + ": " + e);
+            missing.add(path);
+            return null;
+        } finally {
+            LOAD_TIME.recordSince(t0);
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage src, int w, int h) {
+        long t0 = System.nanoTime();
+        try { return toCompatible(src, w, h); } finally { SCALE_TIME.recordSince(t0); }
+    }
+
+    /** Copy into the screen's native pixel layout so painting needs no conversion */
+    static BufferedImage toCompatible(BufferedImage src, int w, int h) {
+        BufferedImage out = createImage(w, h, src.getColorModel().getTransparency());
+        Graphics2D g = out.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(src, 0, 0, w, h, null);
+        g.dispose();
+        return out;
+    }
+
+    static BufferedImage createImage(int w, int h, int transparency) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(w, h, transparency);
+        }
+        return new BufferedImage(w, h, transparency == Transparency.OPAQUE
+                ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    private static long sizeOf(BufferedImage img) { return (long) img.getWidth() * img.getHeight() * 4; }
+}
@@ -0,0 +1,49 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms SceneImageCache with the images the player can reach next.
+ * Each call replaces the previous batch: queued work for rooms the player has walked away from
+ * is cancelled, and tasks that already started finish but nothing new from the old batch begins.
+ */
+public final class ScenePrefetcher {
+    private static final Metrics.CacheStats STATS = Metrics.cache("gui.image.prefetch");
+
+    private final SceneImageCache cache;
+    private final ExecutorService pool;
+    private final AtomicInteger generation = new AtomicInteger();
+    private final List<Future<?>> pending = new ArrayList<>();
+
+    public ScenePrefetcher(SceneImageCache cache, int threads) {
+        this.cache = cache;
+        AtomicInteger n = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "scene-prefetch-" + n.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    /** Decode and scale these assets to w x h in the background; call on every room change */
+    public synchronized void prefetch(Collection<String> paths, int w, int h) {
+        int gen = generation.incrementAndGet();
+        for (Future<?> f : pending) f.cancel(false);
+        pending.clear();
+        for (String path : paths) {
+            if (cache.peek(path, w, h) != null) { STATS.hit(); continue; }
+            STATS.miss();
+            pending.add(pool.submit(() -> {
+                if (generation.get() != gen) return;   // player already moved on
+                cache.get(path, w, h);
+            }));
+        }
+    }
+
+    public void shutdown() { pool.shutdownNow(); }
+}
@@ -0,0 +1,208 @@
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import javax.swing.JScrollBar;
+import javax.swing.JScrollPane;
+import javax.swing.SwingUtilities;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.JTextComponent;
+
+/**
+ * The story transcript, shown through a bounded window.
+ * Everything appended goes to a transcript file; the text component only holds the most recent
+ * MAX_CHARS or so, so layout and wrapping cost stay flat however long the session runs.
+ * Scrolling to the top pages older text back in from the file (memory-mapped), scrolling to the
+ * bottom pages forward again, and new output always jumps back to the live end.
+ *
+ * The file is UTF-16BE after a byte-order mark, so character n lives at byte 2 + 2n.
+ * If it cannot be written, the window is simply left unbounded. EDT only, except flush().
+ */
+final class StoryLog {
+    private static final int MAX_CHARS = 48_000;     // window size that triggers a trim
+    private static final int PAGE_CHARS = 16_000;    // how much a trim drops or a scroll pages in
+    private static final int FLUSH_CHARS = 8_192;
+    private static final int HEADER_BYTES = 2;
+
+    private final JTextComponent area;
+    private final Path path;
+    private FileChannel file;                        // null when spilling is off
+    private final StringBuilder pending = new StringBuilder();
+    private long total;                              // chars ever appended
+    private long windowStart, windowEnd;             // transcript range held by the document
+    private boolean paging;
+
+    StoryLog(JTextComponent area, Path path) {
+        this.area = area;
+        this.path = path;
+        open();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "transcript-flush"));
+    }
+
+    /** Page older or newer text in when the user scrolls to either end */
+    void followScroll(JScrollPane scroll) {
+        JScrollBar bar = scroll.getVerticalScrollBar();
+        bar.addAdjustmentListener(e -> {
+            if (paging || file == null) return;
+            if (bar.getValue() == bar.getMinimum() && windowStart > 0) pageBack(bar);
+            else if (bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() && windowEnd < total) pageForward(bar);
+        });
+    }
+
+    long length() { return total; }
+
+    void append(String s) {
+        if (s.isEmpty()) return;
+        if (windowEnd < total) showTail();
+        insert(area.getDocument().getLength(), s);
+        total += s.length();
+        windowEnd = total;
+        if (file != null) {
+            boolean full;
+            synchronized (pending) { full = pending.append(s).length() >= FLUSH_CHARS; }
+            if (full) flush();
+            if (windowEnd - windowStart > MAX_CHARS) dropFront(PAGE_CHARS);
+        }
+        area.setCaretPosition(area.getDocument().getLength());
+    }
+
+    void clear() {
+        area.setText("");
+        total = windowStart = windowEnd = 0;
+        synchronized (pending) { pending.setLength(0); }
+        if (file != null) {
+            try { file.truncate(HEADER_BYTES); } catch (IOException e) { disable(e); }
+        }
+    }
+
+    /** Write out text not yet in the transcript file */
+    void flush() {
+        synchronized (pending) {
+            if (file == null || pending.length() == 0) return;
+            try {
+                ByteBuffer b = StandardCharsets.UTF_16BE.encode(CharBuffer.wrap(pending));
+                while (b.hasRemaining()) file.write(b, file.size());
+                pending.setLength(0);
+            } catch (IOException e) {
+                disable(e);
+            }
+        }
+    }
+
+    private void open() {
+        try {
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            file.write(ByteBuffer.wrap(new byte[]{(byte) 0xFE, (byte) 0xFF}));
+        } catch (IOException e) {
+            disable(e);
+        }
+    }
+
+    private void disable(IOException e) {
+        Log.warn("Story transcript " + path + " unavailable, keeping all text on screen: " + e);
+        if (file != null) { try { file.close(); } catch (IOException ignored) {} }
+        file = null;
+    }
+
+    private String read(long from, long to) {
+        flush();
+        if (file == null) return "";
+        try {
+            ByteBuffer mapped = file.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + 2 * from, 2 * (to - from));
+            return StandardCharsets.UTF_16BE.decode(mapped).toString();
+        } catch (IOException e) {
+            disable(e);
+            return "";
+        }
+    }
+
+    /** Drop about n chars from the top of the window, ending on a line break where one is near; returns the count */
+    private int dropFront(int n) {
+        Document doc = area.getDocument();
+        int cut = Math.min(n, doc.getLength());
+        try {
+            String tail = doc.getText(cut, Math.min(256, doc.getLength() - cut));
+            int nl = tail.indexOf('\n');
+            if (nl >= 0) cut += nl + 1;
+            doc.remove(0, cut);
+        } catch (BadLocationException e) {
+            throw new IllegalStateException(e);
+        }
+        windowStart += cut;
+        return cut;
+    }
+
+    private void dropBack(int n) {
+        Document doc = area.getDocument();
+        int cut = Math.min(n, doc.getLength());
+        try { doc.remove(doc.getLength() - cut, cut); } catch (BadLocationException e) { throw new IllegalStateException(e); }
+        windowEnd -= cut;
+    }
+
+    private void pageBack(JScrollBar bar) {
+        long from = Math.max(0, windowStart - PAGE_CHARS);
+        String older = read(from, windowStart);
+        if (older.isEmpty()) return;
+        paging = true;
+        insert(0, older);
+        windowStart = from;
+        if (windowEnd - windowStart > MAX_CHARS) dropBack(PAGE_CHARS);
+        int anchor = older.length();
+        // Keep the line that was at the top where it was once the new text is laid out
+        SwingUtilities.invokeLater(() -> {
+            try {
+                Rectangle2D r = area.modelToView2D(Math.min(anchor, area.getDocument().getLength()));
+                if (r != null) bar.setValue((int) r.getY());
+            } catch (BadLocationException ignored) {
+            } finally {
+                paging = false;
+            }
+        });
+    }
+
+    private void pageForward(JScrollBar bar) {
+        long to = Math.min(total, windowEnd + PAGE_CHARS);
+        String newer = read(windowEnd, to);
+        if (newer.isEmpty()) return;
+        paging = true;
+        int top = area.viewToModel2D(area.getVisibleRect().getLocation());
+        insert(area.getDocument().getLength(), newer);
+        windowEnd += newer.length();
+        int dropped = windowEnd - windowStart > MAX_CHARS ? dropFront(PAGE_CHARS) : 0;
+        // The text that was on screen moved up by whatever was dropped above it
+        SwingUtilities.invokeLater(() -> {
+            try {
+                Rectangle2D r = area.modelToView2D(Math.max(0, top - dropped));
+                if (r != null) bar.setValue((int) r.getY());
+            } catch (BadLocationException ignored) {
+            } finally {
+                paging = false;
+            }
+        });
+    }
+
+    /** Replace the window with the live end of the transcript */
+    private void showTail() {
+        long from = Math.max(0, total - (MAX_CHARS - PAGE_CHARS));
+        String tail = read(from, total);
+        area.setText(tail);
+        windowStart = from;
+        windowEnd = from + tail.length();
+    }
+
+    private void insert(int offset, String s) {
+        try {
+            area.getDocument().insertString(offset, s, null);
+        } catch (BadLocationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
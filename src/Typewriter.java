@@ -0,0 +1,122 @@
+import java.util.ArrayDeque;
+
+/**
+ * Types story text into the StoryLog a chunk per Animator frame.
+ * The number of characters due is worked out from elapsed time, so a late frame catches up instead of
+ * falling behind, and long texts speed up so none takes longer than MAX_TYPE_MS.
+ * Each frame appends at most MAX_CHUNK characters and never reads earlier text back:
+ * the trailing newline count is tracked here. Texts queue up and play in order; skip() finishes them all at once.
+ * EDT only.
+ */
+final class Typewriter {
+    private static final int MAX_CHUNK = 256;
+    private static final long MAX_TYPE_MS = 2500;
+
+    private static final class Segment {
+        final String text; final Runnable onDone;
+        Segment(String text, Runnable onDone) { this.text = text; this.onDone = onDone; }
+    }
+
+    private final StoryLog log;
+    private final Animator animator;
+    private final Animator.Tween tween = this::tick;
+    private final double charsPerMs;
+    private final ArrayDeque<Segment> queue = new ArrayDeque<>();
+
+    private Segment current;
+    private String typing;          // current.text with its separators
+    private int pos;
+    private double rate;            // chars per ms for the current segment
+    private double owed;            // chars due but not yet typed
+    private long lastNanos;
+    private int trailingNewlines;   // consecutive '\n' at the end of the document
+
+    Typewriter(StoryLog log, Animator animator, int charDelayMs) {
+        this.log = log;
+        this.animator = animator;
+        this.charsPerMs = 1.0 / charDelayMs;
+    }
+
+    boolean isTyping() { return current != null || !queue.isEmpty(); }
+
+    /** Queue text to be typed after whatever is playing; onDone runs once it is fully shown */
+    void type(String text, Runnable onDone) {
+        if ((text == null || text.isEmpty()) && !isTyping()) { if (onDone != null) onDone.run(); return; }
+        queue.add(new Segment(text == null ? "" : text, onDone));
+        if (current == null) next();
+    }
+
+    /** Show the text immediately, after anything still queued */
+    void append(String text) {
+        skip();
+        if (text == null || text.isEmpty()) return;
+        insert(separated(text));
+    }
+
+    /** Finish everything queued, including text queued by completion callbacks */
+    void skip() {
+        while (current != null) {
+            insert(typing.substring(pos));
+            finish();
+        }
+    }
+
+    /** Drop queued text without running callbacks and empty the story */
+    void clear() {
+        animator.cancel(this);
+        queue.clear();
+        current = null;
+        log.clear();
+        trailingNewlines = 0;
+    }
+
+    private void next() {
+        current = queue.poll();
+        if (current == null) { animator.cancel(this); return; }
+        typing = current.text.isEmpty() ? "" : separated(current.text);
+        pos = 0;
+        rate = Math.max(charsPerMs, typing.length() / (double) MAX_TYPE_MS);
+        if (!animator.isRunning(this)) {
+            owed = 0;
+            lastNanos = System.nanoTime();
+            animator.start(this, tween);
+        }
+    }
+
+    private boolean tick(long now) {
+        owed = Math.min(owed + (now - lastNanos) / 1e6 * rate, MAX_CHUNK);
+        lastNanos = now;
+        int budget = MAX_CHUNK;
+        while (current != null) {
+            int n = (int) Math.min(Math.min(owed, budget), typing.length() - pos);
+            if (n > 0) {
+                insert(typing.substring(pos, pos + n));
+                pos += n; owed -= n; budget -= n;
+            }
+            if (pos < typing.length()) break;
+            finish();
+        }
+        return current != null;
+    }
+
+    private void finish() {
+        Runnable done = current.onDone;
+        current = null;
+        if (done != null) done.run();
+        if (current == null) next();
+    }
+
+    /** Blank line before (unless the story already ends in one) and after */
+    private String separated(String text) {
+        boolean gap = log.length() > 0 && trailingNewlines < 2;
+        return (gap ? "\n" : "") + text + "\n\n";
+    }
+
+    private void insert(String s) {
+        if (s.isEmpty()) return;
+        log.append(s);
+        int nl = 0;
+        while (nl < s.length() && s.charAt(s.length() - 1 - nl) == '\n') nl++;
+        trailingNewlines = nl == s.length() ? trailingNewlines + nl : nl;
+    }
+}
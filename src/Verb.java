@@ -0,0 +1,4 @@
+/** What a parsed command asks the game to do */
+public enum Verb {
+    MOVE, LOOK, TAKE, USE, EQUIP, UNEQUIP, ATTACK, SOLVE, GIVE, INVENTORY, GEAR, SPEAK, TRAVEL, UNKNOWN
+}
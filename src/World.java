@@ -0,0 +1,106 @@
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One game session's view of the shared WorldTemplate.
+ * Only what the player changed is stored here: picked-up items, damaged or defeated enemies and solved riddles.
+ */
+public class World {
+    private final WorldTemplate template;
+    private Map<Integer, ItemIndex> items;     // copy-on-write: only rooms whose items changed
+    private Map<Integer, Enemy> enemies;       // session copies of enemies that have been fought
+    private final BitSet defeated = new BitSet();
+    private final BitSet solved = new BitSet();
+    private String[] looks;                    // look text for rooms with own items; null entry = dirty
+
+    public World(WorldTemplate template) { this.template = template; }
+
+    public WorldTemplate getTemplate() { return template; }
+    public Room getStart() { return template.getStart(); }
+
+    /** Access a room by numeric id (optional) */
+    public Room getRoom(int id) { return template.getRoom(id); }
+    public Room getCastleRoom(int level) { return template.getCastleRoom(level); }
+
+    // ======= Items =======
+    public ItemIndex itemsIn(Room r) {
+        if (items != null) {
+            ItemIndex own = items.get(r.getId());
+            if (own != null) return own;
+        }
+        return r.getItems();
+    }
+
+    public void removeItem(Room r, Item it) { ownItems(r).remove(it); invalidate(r); }
+    public void addItem(Room r, Item it) { ownItems(r).add(it); invalidate(r); }
+
+    /** First item in the room with this name (any case), or null */
+    public Item findItem(Room r, String name) { return itemsIn(r).find(name); }
+
+    private ItemIndex ownItems(Room r) {
+        if (items == null) items = new HashMap<>();
+        return items.computeIfAbsent(r.getId(), id -> new ItemIndex(r.getItems()));
+    }
+
+    // ======= Save / restore (see SaveGame) =======
+    /** Rooms whose items differ from the template, by id */
+    Map<Integer, ItemIndex> changedItems() { return items == null ? Collections.emptyMap() : items; }
+    void restoreItems(int roomId, ItemIndex contents) {
+        if (items == null) items = new HashMap<>();
+        items.put(roomId, contents);
+    }
+
+    /** Enemies that have been fought but not defeated, by room id */
+    Map<Integer, Enemy> foughtEnemies() { return enemies == null ? Collections.emptyMap() : enemies; }
+    void restoreEnemy(Room r, int health) {
+        Enemy base = enemyIn(r);
+        if (base != null) enemies.put(r.getId(), new Enemy(base.getName(), health, base.getDamage()));
+    }
+
+    BitSet defeatedRooms() { return defeated; }
+    BitSet solvedRooms() { return solved; }
+
+    // ======= Rendered look text =======
+    /** Cached look text for the room as this session sees it, or null if it needs rendering */
+    public String cachedLook(Room r) {
+        if (items != null && items.containsKey(r.getId())) return looks == null ? null : looks[r.getId()];
+        return template.cachedLook(r.getId());
+    }
+
+    public void cacheLook(Room r, String text) {
+        if (items != null && items.containsKey(r.getId())) {
+            if (looks == null) looks = new String[template.maxId() + 1];
+            looks[r.getId()] = text;
+        } else {
+            template.cacheLook(r.getId(), text);
+        }
+    }
+
+    /** Items changed (exits are fixed by the template), so the room must be rendered again */
+    private void invalidate(Room r) {
+        if (looks != null) looks[r.getId()] = null;
+    }
+
+    // ======= Enemies =======
+    /** The enemy in this room for this session, or null if there is none or it has been defeated */
+    public Enemy enemyIn(Room r) {
+        Enemy base;
+        if (r instanceof GoblinRoom) base = ((GoblinRoom) r).getEnemy();
+        else if (r instanceof DragonRoom) base = ((DragonRoom) r).getDragon();
+        else return null;
+        if (base == null || defeated.get(r.getId())) return null;
+        if (enemies == null) enemies = new HashMap<>();
+        return enemies.computeIfAbsent(r.getId(), id -> base.copy());
+    }
+
+    public void defeatEnemy(Room r) {
+        defeated.set(r.getId());
+        if (enemies != null) enemies.remove(r.getId());
+    }
+
+    // ======= Riddles =======
+    public void markSolved(Room r) { solved.set(r.getId()); }
+    public boolean isSolved(Room r) { return solved.get(r.getId()); }
+}
@@ -0,0 +1,211 @@
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+import javax.swing.JComponent;
+
+/**
+ * The World Map: rooms the player has stood in and exits they have taken, on a grid laid out once
+ * from the room graph. The map is drawn into a cached image and refresh() only draws what was
+ * discovered since the previous refresh; the you-are-here marker is painted on top, so moving
+ * between known rooms costs a repaint and nothing more. EDT only.
+ */
+final class WorldMapView extends JComponent {
+    private static final long serialVersionUID = 1L;
+    private static final int CELL = 48, BOX = 28, PAD = 24;
+    private static final Color PAPER = new Color(0x2B2419), INK = new Color(0xC8B48A), HERE = new Color(0xFFD54A);
+    // Room fills by kind
+    private static final Color CASTLE = new Color(0x4A4E5A), DRAGON = new Color(0x8E2A1E), GOBLIN = new Color(0x5E7A2A),
+            PUZZLE = new Color(0x5A3F86), CLIMB = new Color(0x7A5A36), PLAIN = new Color(0x3F6B5A);
+    private static final Font LABEL_FONT = new Font(Font.SANS_SERIF, Font.BOLD, 11);
+    private static final LatencyHistogram RENDER_TIME = Metrics.latency("gui.map.render");
+
+    /** Grid position of every room, shared by all maps of the same template */
+    private static final class Layout {
+        private static final int[] DX = {0, 0, 1, -1}, DY = {-1, 1, 0, 0};     // Direction order: N, S, E, W
+        static final Layout INSTANCE = new Layout(WorldBuilder.template());
+
+        final WorldTemplate template;
+        final int[] x, y;
+        final int cols, rows;
+
+        /**
+         * Each connected group of rooms is walked breadth-first from its lowest id, every room going one cell
+         * beyond its parent in the exit's direction, or to the nearest free cell if that one is taken.
+         * Groups the map cannot walk between are placed side by side.
+         */
+        Layout(WorldTemplate t) {
+            template = t;
+            int n = t.maxId() + 1;
+            x = new int[n];
+            y = new int[n];
+            BitSet placed = new BitSet();
+            Set<Long> taken = new HashSet<>();
+            int nextX = 0, maxX = 0, minY = 0, maxY = 0;
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int start = 1; start < n; start++) {
+                if (t.getRoom(start) == null || placed.get(start)) continue;
+                put(start, nextX, 0, placed, taken);
+                queue.add(start);
+                while (!queue.isEmpty()) {
+                    int at = queue.poll();
+                    for (Direction d : Direction.values()) {
+                        int to = t.exitId(at, d);
+                        if (to == WorldTemplate.NO_ROOM || placed.get(to)) continue;
+                        long cell = free(x[at] + DX[d.ordinal()], y[at] + DY[d.ordinal()], taken);
+                        put(to, (int) (cell >> 32), (int) cell, placed, taken);
+                        queue.add(to);
+                    }
+                }
+                for (int id = placed.nextSetBit(0); id >= 0; id = placed.nextSetBit(id + 1)) {
+                    maxX = Math.max(maxX, x[id]);
+                    minY = Math.min(minY, y[id]);
+                    maxY = Math.max(maxY, y[id]);
+                }
+                nextX = maxX + 2;
+            }
+            int minX = 0;
+            for (int id = placed.nextSetBit(0); id >= 0; id = placed.nextSetBit(id + 1)) minX = Math.min(minX, x[id]);
+            for (int id = placed.nextSetBit(0); id >= 0; id = placed.nextSetBit(id + 1)) { x[id] -= minX; y[id] -= minY; }
+            cols = maxX - minX + 1;
+            rows = maxY - minY + 1;
+        }
+
+        private void put(int id, int cx, int cy, BitSet placed, Set<Long> taken) {
+            x[id] = cx;
+            y[id] = cy;
+            placed.set(id);
+            taken.add(key(cx, cy));
+        }
+
+        /** The wanted cell if free, else the closest free one in growing rings around it */
+        private static long free(int cx, int cy, Set<Long> taken) {
+            for (int r = 0; ; r++) {
+                for (int dy = -r; dy <= r; dy++) {
+                    for (int dx = -r; dx <= r; dx++) {
+                        if (Math.max(Math.abs(dx), Math.abs(dy)) != r) continue;
+                        if (!taken.contains(key(cx + dx, cy + dy))) return key(cx + dx, cy + dy);
+                    }
+                }
+            }
+        }
+
+        private static long key(int cx, int cy) { return ((long) cx << 32) | (cy & 0xFFFFFFFFL); }
+
+        int px(int id) { return PAD + x[id] * CELL + CELL / 2; }
+        int py(int id) { return PAD + y[id] * CELL + CELL / 2; }
+    }
+
+    private final Layout layout = Layout.INSTANCE;
+    private final BufferedImage canvas;
+    private final BitSet drawnRooms = new BitSet(), drawnExits = new BitSet();
+    private final BitSet fresh = new BitSet();       // scratch for the rooms and exits new since the last refresh
+    private int here;
+
+    WorldMapView() {
+        canvas = new BufferedImage(layout.cols * CELL + 2 * PAD, layout.rows * CELL + 2 * PAD, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = canvas.createGraphics();
+        g.setColor(PAPER);
+        g.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        g.dispose();
+        setPreferredSize(new Dimension(Math.min(canvas.getWidth(), 900), Math.min(canvas.getHeight(), 700)));
+    }
+
+    /** Draw whatever the player has explored since the last refresh and move the marker */
+    void refresh(Player p) {
+        long t0 = System.nanoTime();
+        BitSet exits = p.traversedExits(), rooms = p.visitedRooms();
+        Graphics2D g = null;
+
+        fresh.clear();
+        fresh.or(exits);
+        fresh.andNot(drawnExits);
+        for (int e = fresh.nextSetBit(0); e >= 0; e = fresh.nextSetBit(e + 1)) {
+            int from = e / 4, to = layout.template.exitId(from, Direction.byOrdinal(e % 4));
+            if (to == WorldTemplate.NO_ROOM) continue;
+            if (g == null) g = pen();
+            g.setColor(INK);
+            g.drawLine(layout.px(from), layout.py(from), layout.px(to), layout.py(to));
+            // The line ran to the rooms' centres, so put their boxes back on top
+            if (drawnRooms.get(from)) drawRoom(g, from);
+            if (drawnRooms.get(to)) drawRoom(g, to);
+        }
+        drawnExits.or(exits);
+
+        fresh.clear();
+        fresh.or(rooms);
+        fresh.andNot(drawnRooms);
+        for (int id = fresh.nextSetBit(0); id >= 0; id = fresh.nextSetBit(id + 1)) {
+            if (layout.template.getRoom(id) == null) continue;
+            if (g == null) g = pen();
+            drawRoom(g, id);
+        }
+        drawnRooms.or(rooms);
+
+        int now = p.getCurrentRoom().getId();
+        if (g != null) g.dispose();
+        if (g != null || now != here) repaint();
+        here = now;
+        RENDER_TIME.recordSince(t0);
+    }
+
+    private Graphics2D pen() {
+        Graphics2D g = canvas.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setStroke(new BasicStroke(3f));
+        g.setFont(LABEL_FONT);
+        return g;
+    }
+
+    private void drawRoom(Graphics2D g, int id) {
+        int cx = layout.px(id), cy = layout.py(id);
+        g.setColor(fill(layout.template.getRoom(id)));
+        g.fillRoundRect(cx - BOX / 2, cy - BOX / 2, BOX, BOX, 8, 8);
+        g.setColor(INK);
+        g.drawRoundRect(cx - BOX / 2, cy - BOX / 2, BOX, BOX, 8, 8);
+        String label = id > WorldTemplate.CASTLE_BASE ? "C" + (id - WorldTemplate.CASTLE_BASE) : Integer.toString(id);
+        FontMetrics fm = g.getFontMetrics();
+        g.setColor(Color.WHITE);
+        g.drawString(label, cx - fm.stringWidth(label) / 2, cy + fm.getAscent() / 2 - 1);
+    }
+
+    private static Color fill(Room r) {
+        if (r.getId() > WorldTemplate.CASTLE_BASE) return CASTLE;
+        if (r instanceof DragonRoom)  return DRAGON;
+        if (r instanceof GoblinRoom)  return GOBLIN;
+        if (r instanceof PuzzleRoom)  return PUZZLE;
+        if (r instanceof ClimbRoom)   return CLIMB;
+        return PLAIN;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g0) {
+        Graphics2D g = (Graphics2D) g0.create();
+        g.setColor(PAPER);
+        g.fillRect(0, 0, getWidth(), getHeight());
+        // Scale the cached map to fit, centred, never enlarged
+        double s = Math.min(1.0, Math.min((double) getWidth() / canvas.getWidth(), (double) getHeight() / canvas.getHeight()));
+        int w = (int) (canvas.getWidth() * s), h = (int) (canvas.getHeight() * s);
+        int ox = (getWidth() - w) / 2, oy = (getHeight() - h) / 2;
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(canvas, ox, oy, w, h, null);
+        if (here > 0) {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(HERE);
+            g.setStroke(new BasicStroke(3f));
+            int r = (int) ((BOX / 2 + 5) * s);
+            g.drawOval(ox + (int) (layout.px(here) * s) - r, oy + (int) (layout.py(here) * s) - r, 2 * r, 2 * r);
+        }
+        g.dispose();
+    }
+}
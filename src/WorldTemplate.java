@@ -0,0 +1,99 @@
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The static content of the game world: rooms, descriptions, exits, riddles, enemy stats and starting items.
+ * Built once by WorldBuilder and shared read-only by every session; per-session changes live in World.
+ * Rooms are indexed by int id and exits are kept in one flat table, exits[id * 4 + direction.ordinal()].
+ */
+public class WorldTemplate {
+    /** Castle levels are numbered after the 60 overworld rooms so every room has a unique id */
+    public static final int CASTLE_BASE = 60;
+    /** Marks a missing exit in the table; room ids start at 1 */
+    public static final int NO_ROOM = 0;
+
+    private static final int DIRS = Direction.values().length;
+
+    private Room[] rooms = new Room[72];
+    private int[] exits = new int[rooms.length * DIRS];
+    private int maxId;
+    private Room start;
+    private String[] looks;      // rendered look text of rooms in their starting state, filled on demand
+    private Item[] catalog;      // every starting item, in room id order; saves refer to items by index
+    private final Map<Item, Integer> catalogIndex = new IdentityHashMap<>();
+    private int catalogHash;
+    private RouteTable routes;
+
+    /** Register an overworld room by id */
+    Room reg(int id, Room room) {
+        if (id <= NO_ROOM) throw new IllegalArgumentException("Room ids start at 1: " + id);
+        if (id >= rooms.length) {
+            int cap = Math.max(id + 1, rooms.length * 2);
+            rooms = Arrays.copyOf(rooms, cap);
+            exits = Arrays.copyOf(exits, cap * DIRS);
+        }
+        room.attach(id, this);
+        rooms[id] = room;
+        if (id > maxId) maxId = id;
+        return room;
+    }
+
+    /** Register a castle room by level number */
+    Room regCastle(int level, Room room) {
+        return reg(CASTLE_BASE + level, room);
+    }
+
+    void link(int from, Direction dir, int to) { exits[from * DIRS + dir.ordinal()] = to; }
+
+    void setStart(Room start) { this.start = start; }
+
+    /** Called once building is done; from here on the template is shared and must not change */
+    void freeze() {
+        for (Room r : rooms) if (r != null) r.getItems().freeze();
+        looks = new String[rooms.length];
+        int hash = 1;
+        for (Room r : rooms) {
+            if (r == null) continue;
+            for (Item it : r.getItems()) {
+                catalogIndex.put(it, catalogIndex.size());
+                hash = 31 * hash + it.getName().hashCode();
+            }
+        }
+        catalog = new Item[catalogIndex.size()];
+        for (Map.Entry<Item, Integer> e : catalogIndex.entrySet()) catalog[e.getValue()] = e.getKey();
+        catalogHash = 31 * hash + maxId;
+        routes = new RouteTable(this);
+    }
+
+    /** Shortest gear-aware routes between rooms, built by freeze() */
+    RouteTable routes() { return routes; }
+
+    /** Index of a starting item in the catalog, or -1 for items that did not come from the template */
+    int itemRef(Item it) {
+        Integer i = catalogIndex.get(it);
+        return i == null ? -1 : i;
+    }
+    Item itemAt(int ref) { return catalog[ref]; }
+    int catalogSize() { return catalog.length; }
+    /** Changes when rooms or starting items change, so a save from another build is not misread */
+    int catalogHash() { return catalogHash; }
+
+    /**
+     * Look text for an untouched room is the same in every session, so it is cached here.
+     * Racing sessions may both render it; they produce equal strings, so last write wins harmlessly.
+     */
+    String cachedLook(int id) { return looks[id]; }
+    void cacheLook(int id, String text) { looks[id] = text; }
+    public Room getStart() { return start; }
+
+    /** Highest room id in use; ids run from 1 to this value */
+    public int maxId() { return maxId; }
+
+    public Room getRoom(int id) { return (id > NO_ROOM && id < rooms.length) ? rooms[id] : null; }
+    public Room getCastleRoom(int level) { return getRoom(CASTLE_BASE + level); }
+
+    /** Target room id through the given exit, or NO_ROOM */
+    public int exitId(int from, Direction dir) { return exits[from * DIRS + dir.ordinal()]; }
+    public Room exit(int from, Direction dir) { return getRoom(exitId(from, dir)); }
+}